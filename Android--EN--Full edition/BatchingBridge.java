@@ -0,0 +1,351 @@
+package com.herewhite.sdk;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import com.herewhite.sdk.internal.Logger;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import wendu.dsbridge.OnReturnValue;
+
+/**
+ * Hidden in documentation
+ *
+ * Passes calls straight to the wrapped bridge, except while the calling thread has a batch open:
+ * then the calls are queued, and {@link #commit()} sends them to the JS side as one {@code displayer.batch} call.
+ * The JS side runs them in order and returns an array with one return value per call,
+ * which is handed to the handler of each call in the same order.
+ *
+ * Older whiteboard pages have no {@code displayer.batch} handler. The first batch asks DSBridge whether the page has it;
+ * until the answer arrives, the batches and the calls made after them wait in order. If the page does not have it,
+ * the calls of every batch are sent one by one. If the page has loaded but does not answer within {@link #PROBE_TIMEOUT_MILLIS},
+ * for example because the question waits behind a bulk call, the calls are sent one by one until the answer arrives.
+ */
+final class BatchingBridge implements JsBridgeInterface {
+
+    static final String BATCH_METHOD = "displayer.batch";
+    /**
+     * The handler DSBridge provides on every page to tell whether a JS handler is registered.
+     */
+    static final String HAS_JAVASCRIPT_METHOD = "_hasJavascriptMethod";
+    static final long PROBE_TIMEOUT_MILLIS = 3000;
+
+    private static final int SUPPORT_UNKNOWN = 0;
+    private static final int SUPPORT_PROBING = 1;
+    /**
+     * The answer is overdue; the calls are sent one by one until it arrives.
+     */
+    private static final int SUPPORT_PROBE_LATE = 2;
+    private static final int SUPPORTED = 3;
+    private static final int UNSUPPORTED = 4;
+
+    private final JsBridgeInterface bridge;
+    private final JsBridgeInterface page;
+    private final ThreadLocal<Batch> openBatch = new ThreadLocal<>();
+
+    private int support = SUPPORT_UNKNOWN;
+    /**
+     * The batches, and the single calls made after them, that wait for the answer about {@code displayer.batch};
+     * {@code null} when nothing waits.
+     */
+    private ArrayDeque<List<Call>> waiting;
+    private Handler handler;
+
+    private final Runnable probeTimeout = this::onProbeTimeout;
+
+    /**
+     * @param bridge The bridge the calls are sent through.
+     * @param page   The bridge at the page end, which tells when the page has loaded if it is a {@link WhiteboardView}.
+     */
+    BatchingBridge(JsBridgeInterface bridge, JsBridgeInterface page) {
+        this.bridge = bridge;
+        this.page = page;
+    }
+
+    private static final class Call {
+        final String method;
+        final Object[] args;
+        final OnReturnValue<Object> handler;
+
+        Call(String method, Object[] args, OnReturnValue<Object> handler) {
+            this.method = method;
+            this.args = args;
+            this.handler = handler;
+        }
+
+        Map<String, Object> toBridgeMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("method", method);
+            map.put("args", args == null ? Collections.emptyList() : Arrays.asList(Utils.toBridgeMaps(args)));
+            return map;
+        }
+    }
+
+    private static final class Batch {
+        int depth;
+        final List<Call> calls = new ArrayList<>();
+    }
+
+    /**
+     * Opens a batch on the calling thread, or a nested one if the thread already has a batch open.
+     */
+    void begin() {
+        Batch batch = openBatch.get();
+        if (batch == null) {
+            batch = new Batch();
+            openBatch.set(batch);
+            // Ask early, so that the answer is usually there when the batch is committed.
+            startProbe();
+        }
+        batch.depth++;
+    }
+
+    /**
+     * Closes the batch opened by the matching {@link #begin()}, and sends the queued calls when the outermost batch is closed.
+     */
+    void commit() {
+        Batch batch = openBatch.get();
+        if (batch == null) {
+            Logger.error("commitBatch is called without beginBatch", null);
+            return;
+        }
+        batch.depth--;
+        if (batch.depth > 0) {
+            return;
+        }
+        openBatch.remove();
+        send(batch.calls);
+    }
+
+    /**
+     * Sends calls of one method as a batch of their own, whether or not the calling thread has a batch open.
+     * They take the same way as a committed batch, including sending them one by one to pages without {@code displayer.batch}.
+     *
+     * @return Whether the calls have gone out as one call. {@code false} also when they wait for the answer about {@code displayer.batch}.
+     */
+    boolean callBatch(String method, List<Object[]> argsList) {
+        List<Call> calls = new ArrayList<>(argsList.size());
+        for (Object[] args : argsList) {
+            calls.add(new Call(method, args, null));
+        }
+        return send(calls);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> void callHandler(String method, Object[] args, OnReturnValue<T> handler) {
+        Call call = new Call(method, args, (OnReturnValue<Object>) handler);
+        Batch batch = openBatch.get();
+        if (batch != null) {
+            batch.calls.add(call);
+            return;
+        }
+        synchronized (this) {
+            if (waiting != null) {
+                waiting.add(Collections.singletonList(call));
+                return;
+            }
+        }
+        bridge.callHandler(method, args, handler);
+    }
+
+    @Override
+    public void callHandler(String method, Object[] args) {
+        this.callHandler(method, args, null);
+    }
+
+    @Override
+    public <T> void callHandler(String method, OnReturnValue<T> handler) {
+        this.callHandler(method, null, handler);
+    }
+
+    @Override
+    public void addJavascriptObject(Object object, String namespace) {
+        bridge.addJavascriptObject(object, namespace);
+    }
+
+    @Override
+    public void callFocusView() {
+        bridge.callFocusView();
+    }
+
+    /**
+     * @return Whether the batch has gone out as one call.
+     */
+    private boolean send(List<Call> batch) {
+        if (batch.isEmpty()) {
+            return false;
+        }
+        boolean supported;
+        synchronized (this) {
+            if (waiting == null && (batch.size() == 1 || support >= SUPPORT_PROBE_LATE)) {
+                supported = support == SUPPORTED;
+            } else {
+                if (waiting == null) {
+                    waiting = new ArrayDeque<>();
+                }
+                waiting.add(batch);
+                batch = null;
+                supported = false;
+            }
+        }
+        if (batch == null) {
+            startProbe();
+            return false;
+        }
+        return sendNow(batch, supported);
+    }
+
+    private boolean sendNow(final List<Call> batch, boolean supported) {
+        if (batch.size() == 1 || !supported) {
+            for (Call call : batch) {
+                bridge.callHandler(call.method, call.args, call.handler);
+            }
+            return false;
+        }
+        List<Map<String, Object>> payload = new ArrayList<>(batch.size());
+        for (Call call : batch) {
+            payload.add(call.toBridgeMap());
+        }
+        bridge.callHandler(BATCH_METHOD, new Object[]{payload}, new OnReturnValue<Object>() {
+            @Override
+            public void onValue(Object retValue) {
+                dispatchReturnValues(batch, retValue);
+            }
+        });
+        return true;
+    }
+
+    private void startProbe() {
+        synchronized (this) {
+            if (support != SUPPORT_UNKNOWN) {
+                return;
+            }
+            support = SUPPORT_PROBING;
+        }
+        bridge.callHandler(HAS_JAVASCRIPT_METHOD, new Object[]{BATCH_METHOD}, new OnReturnValue<Object>() {
+            @Override
+            public void onValue(Object retValue) {
+                onProbeResult(Boolean.TRUE.equals(retValue) || "true".equals(String.valueOf(retValue)));
+            }
+        });
+        // The question waits with the other calls while the page is loading, which can take much longer than the timeout.
+        if (page instanceof WhiteboardView) {
+            ((WhiteboardView) page).addBridgeReadyListener((pageLoadMillis, queuedCallCount) -> startProbeTimeout());
+        } else {
+            startProbeTimeout();
+        }
+    }
+
+    private void startProbeTimeout() {
+        synchronized (this) {
+            if (support != SUPPORT_PROBING) {
+                return;
+            }
+        }
+        getHandler().postDelayed(probeTimeout, PROBE_TIMEOUT_MILLIS);
+    }
+
+    private void onProbeTimeout() {
+        synchronized (this) {
+            if (support != SUPPORT_PROBING) {
+                return;
+            }
+            support = SUPPORT_PROBE_LATE;
+        }
+        Logger.error("The whiteboard page does not tell within " + PROBE_TIMEOUT_MILLIS + " ms whether it supports " + BATCH_METHOD
+                + ", the calls of a batch are sent one by one until it does", null);
+        sendWaiting(false);
+    }
+
+    /**
+     * Takes the answer even when it is late, so that a page that supports batches gets them from then on.
+     */
+    private void onProbeResult(boolean supported) {
+        synchronized (this) {
+            if (support != SUPPORT_PROBING && support != SUPPORT_PROBE_LATE) {
+                return;
+            }
+            support = supported ? SUPPORTED : UNSUPPORTED;
+        }
+        getHandler().removeCallbacks(probeTimeout);
+        if (!supported) {
+            Logger.error("The whiteboard page does not support " + BATCH_METHOD + ", the calls of a batch are sent one by one", null);
+        }
+        sendWaiting(supported);
+    }
+
+    private void sendWaiting(boolean supported) {
+        // Keep the queue in place while draining, so that calls made meanwhile are sent after it.
+        while (true) {
+            List<Call> batch;
+            synchronized (this) {
+                if (waiting == null || waiting.isEmpty()) {
+                    waiting = null;
+                    return;
+                }
+                batch = waiting.poll();
+            }
+            sendNow(batch, supported);
+        }
+    }
+
+    private synchronized Handler getHandler() {
+        if (handler == null) {
+            handler = new Handler(Looper.getMainLooper());
+        }
+        return handler;
+    }
+
+    /**
+     * Hands each call its return value. The calls left without one, because the values do not parse or are too few,
+     * get an error, so that their promises do not wait forever.
+     */
+    private static void dispatchReturnValues(List<Call> batch, Object retValue) {
+        JSONArray returnValues;
+        try {
+            returnValues = retValue instanceof JSONArray ? (JSONArray) retValue : new JSONArray(String.valueOf(retValue));
+        } catch (JSONException e) {
+            Logger.error("An exception occurred while parse the return values of " + BATCH_METHOD, e);
+            dispatchError(batch, 0, BATCH_METHOD + " returns no array of return values");
+            return;
+        }
+        if (returnValues.length() != batch.size()) {
+            Logger.error(BATCH_METHOD + " returns " + returnValues.length() + " values for " + batch.size() + " calls", null);
+        }
+        for (int i = 0; i < batch.size() && i < returnValues.length(); i++) {
+            OnReturnValue<Object> handler = batch.get(i).handler;
+            if (handler != null) {
+                Object value = returnValues.opt(i);
+                handler.onValue(value == JSONObject.NULL ? null : value);
+            }
+        }
+        dispatchError(batch, returnValues.length(), BATCH_METHOD + " returns no value for the call");
+    }
+
+    private static void dispatchError(List<Call> batch, int from, String message) {
+        for (int i = from; i < batch.size(); i++) {
+            Call call = batch.get(i);
+            if (call.handler == null) {
+                continue;
+            }
+            try {
+                call.handler.onValue(PromiseReturnValue.errorValue(message + ": " + call.method));
+            } catch (RuntimeException e) {
+                // A handler that expects another type of value than a string cannot take the error.
+                Logger.error("An exception occurred while passing the error of " + call.method, e);
+            }
+        }
+    }
+}
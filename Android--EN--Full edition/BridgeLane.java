@@ -0,0 +1,23 @@
+package com.herewhite.sdk;
+
+/**
+ * The lanes that calls to the whiteboard page go through when priority lanes are enabled.
+ * See {@link Displayer#setPriorityLanes(boolean) setPriorityLanes}.
+ */
+public enum BridgeLane {
+    /**
+     * Latency-sensitive calls that change only the view or the local tool, such as `moveCamera`, `setMemberState`, `undo` and `redo`.
+     * They are sent at once, even while bulk work is in progress.
+     */
+    INTERACTIVE,
+    /**
+     * All other calls. They are sent in the order they are made, after the bulk work made before them.
+     */
+    NORMAL,
+    /**
+     * Heavy calls, such as `putScenes`, `getEntireScenes` and the scene previews and snapshots.
+     * A `putScenes` call with many scenes is split into several calls. The lane sends one call at a time and waits for the
+     * whiteboard page to finish it before sending the next one, so that interactive calls do not queue behind all of them.
+     */
+    BULK
+}
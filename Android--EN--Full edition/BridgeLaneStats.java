@@ -0,0 +1,76 @@
+package com.herewhite.sdk;
+
+/**
+ * The statistics of a {@link BridgeLane BridgeLane}. See {@link Displayer#getBridgeLaneStats(BridgeLane) getBridgeLaneStats}.
+ */
+public final class BridgeLaneStats {
+    private final BridgeLane lane;
+    private final int queueDepth;
+    private final int maxQueueDepth;
+    private final long count;
+    private final long totalWaitNanos;
+    private final long maxWaitNanos;
+
+    BridgeLaneStats(BridgeLane lane, int queueDepth, int maxQueueDepth, long count, long totalWaitNanos, long maxWaitNanos) {
+        this.lane = lane;
+        this.queueDepth = queueDepth;
+        this.maxQueueDepth = maxQueueDepth;
+        this.count = count;
+        this.totalWaitNanos = totalWaitNanos;
+        this.maxWaitNanos = maxWaitNanos;
+    }
+
+    /**
+     * Gets the lane.
+     *
+     * @return The lane. See {@link BridgeLane BridgeLane}.
+     */
+    public BridgeLane getLane() {
+        return lane;
+    }
+
+    /**
+     * Gets the number of calls waiting in the lane.
+     *
+     * @return The number of calls.
+     */
+    public int getQueueDepth() {
+        return queueDepth;
+    }
+
+    /**
+     * Gets the highest number of calls that have waited in the lane at the same time.
+     *
+     * @return The number of calls.
+     */
+    public int getMaxQueueDepth() {
+        return maxQueueDepth;
+    }
+
+    /**
+     * Gets the number of calls sent through the lane. A `putScenes` call split into several calls counts as several calls.
+     *
+     * @return The number of calls.
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Gets the total time the sent calls waited in the lane.
+     *
+     * @return The total time (ns).
+     */
+    public long getTotalWaitNanos() {
+        return totalWaitNanos;
+    }
+
+    /**
+     * Gets the longest time a sent call waited in the lane.
+     *
+     * @return The time (ns).
+     */
+    public long getMaxWaitNanos() {
+        return maxWaitNanos;
+    }
+}
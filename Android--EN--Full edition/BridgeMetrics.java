@@ -0,0 +1,246 @@
+package com.herewhite.sdk;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * The `BridgeMetrics` class, which records the calls between the SDK and the whiteboard page.
+ *
+ * The SDK records these metrics only after you enable them with
+ * {@link WhiteSdkConfiguration#setEnableBridgeMetrics(boolean) setEnableBridgeMetrics}.
+ * Get the instance with {@link WhiteSdk#getBridgeMetrics() getBridgeMetrics}, and call {@link #snapshot() snapshot}
+ * periodically to forward the metrics to your own monitoring system.
+ *
+ * For each method and each {@link Kind Kind}, the SDK records the number of calls, the payload size, and a latency histogram.
+ * Bucket 0 of the histogram counts the latencies under 2 μs, and bucket `i` counts the latencies from 2^i μs up to but excluding 2^(i+1) μs.
+ */
+public final class BridgeMetrics {
+
+    /**
+     * The number of buckets in a latency histogram.
+     */
+    public static final int LATENCY_BUCKETS = 32;
+
+    /**
+     * The kind of call.
+     */
+    public enum Kind {
+        /**
+         * A call from the SDK to the whiteboard page, such as `room.setScenePath`.
+         * The latency is the time the SDK spends sending the call.
+         * The payload size is the length of the arguments in JSON.
+         */
+        CALL,
+        /**
+         * The return value of a call from the SDK to the whiteboard page.
+         * The latency is the time from sending the call to receiving the return value.
+         * The payload size is the length of the return value.
+         */
+        RETURN,
+        /**
+         * A call from the whiteboard page to the SDK, such as `fireRoomStateChanged`.
+         * The latency is the time the SDK spends handling the call.
+         * The payload size is the length of the JSON string the call carries, or 0 for calls that do not carry one.
+         */
+        INBOUND
+    }
+
+    private final EnumMap<Kind, ConcurrentHashMap<String, Recorder>> recorders = new EnumMap<>(Kind.class);
+
+    BridgeMetrics() {
+        for (Kind kind : Kind.values()) {
+            recorders.put(kind, new ConcurrentHashMap<>());
+        }
+    }
+
+    void record(Kind kind, String method, long latencyNanos, int payloadSize) {
+        ConcurrentHashMap<String, Recorder> methodRecorders = recorders.get(kind);
+        Recorder recorder = methodRecorders.get(method);
+        if (recorder == null) {
+            methodRecorders.putIfAbsent(method, new Recorder());
+            recorder = methodRecorders.get(method);
+        }
+        recorder.record(latencyNanos, payloadSize);
+    }
+
+    /**
+     * Gets the metrics recorded since the SDK was initialized or since the last call of {@link #reset() reset}.
+     *
+     * @return The metrics of every method that has been called, one {@link MethodStats MethodStats} object for each method and kind.
+     */
+    public List<MethodStats> snapshot() {
+        List<MethodStats> snapshot = new ArrayList<>();
+        for (Map.Entry<Kind, ConcurrentHashMap<String, Recorder>> kindEntry : recorders.entrySet()) {
+            for (Map.Entry<String, Recorder> entry : kindEntry.getValue().entrySet()) {
+                snapshot.add(entry.getValue().toStats(kindEntry.getKey(), entry.getKey()));
+            }
+        }
+        return snapshot;
+    }
+
+    /**
+     * Clears the recorded metrics.
+     */
+    public void reset() {
+        for (ConcurrentHashMap<String, Recorder> methodRecorders : recorders.values()) {
+            methodRecorders.clear();
+        }
+    }
+
+    static int latencyBucket(long latencyNanos) {
+        long micros = latencyNanos / 1000;
+        if (micros < 2) {
+            return 0;
+        }
+        return Math.min(63 - Long.numberOfLeadingZeros(micros), LATENCY_BUCKETS - 1);
+    }
+
+    private static final class Recorder {
+        private final AtomicLong count = new AtomicLong();
+        private final AtomicLong payloadSize = new AtomicLong();
+        private final AtomicLong totalLatencyNanos = new AtomicLong();
+        private final AtomicLong maxLatencyNanos = new AtomicLong();
+        private final AtomicLongArray latencyHistogram = new AtomicLongArray(LATENCY_BUCKETS);
+
+        void record(long latencyNanos, int size) {
+            count.incrementAndGet();
+            payloadSize.addAndGet(size);
+            totalLatencyNanos.addAndGet(latencyNanos);
+            long max = maxLatencyNanos.get();
+            while (latencyNanos > max && !maxLatencyNanos.compareAndSet(max, latencyNanos)) {
+                max = maxLatencyNanos.get();
+            }
+            latencyHistogram.incrementAndGet(latencyBucket(latencyNanos));
+        }
+
+        MethodStats toStats(Kind kind, String method) {
+            long[] histogram = new long[LATENCY_BUCKETS];
+            for (int i = 0; i < LATENCY_BUCKETS; i++) {
+                histogram[i] = latencyHistogram.get(i);
+            }
+            return new MethodStats(kind, method, count.get(), payloadSize.get(), totalLatencyNanos.get(), maxLatencyNanos.get(), histogram);
+        }
+    }
+
+    /**
+     * The metrics of one method.
+     */
+    public static final class MethodStats {
+        private final Kind kind;
+        private final String method;
+        private final long count;
+        private final long payloadSize;
+        private final long totalLatencyNanos;
+        private final long maxLatencyNanos;
+        private final long[] latencyHistogram;
+
+        MethodStats(Kind kind, String method, long count, long payloadSize, long totalLatencyNanos, long maxLatencyNanos, long[] latencyHistogram) {
+            this.kind = kind;
+            this.method = method;
+            this.count = count;
+            this.payloadSize = payloadSize;
+            this.totalLatencyNanos = totalLatencyNanos;
+            this.maxLatencyNanos = maxLatencyNanos;
+            this.latencyHistogram = latencyHistogram;
+        }
+
+        /**
+         * Gets the kind of call.
+         *
+         * @return The kind of call. See {@link Kind Kind}.
+         */
+        public Kind getKind() {
+            return kind;
+        }
+
+        /**
+         * Gets the name of the method.
+         *
+         * @return The name of the method, for example, `room.setScenePath` or `fireRoomStateChanged`.
+         */
+        public String getMethod() {
+            return method;
+        }
+
+        /**
+         * Gets the number of calls.
+         *
+         * @return The number of calls.
+         */
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * Gets the total payload size of all calls.
+         *
+         * @return The total payload size in characters.
+         */
+        public long getPayloadSize() {
+            return payloadSize;
+        }
+
+        /**
+         * Gets the total latency of all calls.
+         *
+         * @return The total latency (ns).
+         */
+        public long getTotalLatencyNanos() {
+            return totalLatencyNanos;
+        }
+
+        /**
+         * Gets the highest latency of all calls.
+         *
+         * @return The highest latency (ns).
+         */
+        public long getMaxLatencyNanos() {
+            return maxLatencyNanos;
+        }
+
+        /**
+         * Gets the latency histogram.
+         *
+         * @return The number of calls in each of the {@link #LATENCY_BUCKETS} buckets. See {@link BridgeMetrics BridgeMetrics}.
+         */
+        public long[] getLatencyHistogram() {
+            return latencyHistogram.clone();
+        }
+
+        /**
+         * Estimates a latency percentile from the histogram.
+         *
+         * @param percentile The percentile, from 0 to 100, for example, `99`.
+         * @return The upper bound (μs) of the bucket that contains the percentile, or 0 if no call has been recorded.
+         */
+        public long getLatencyPercentileMicros(double percentile) {
+            long total = 0;
+            for (long bucketCount : latencyHistogram) {
+                total += bucketCount;
+            }
+            if (total == 0) {
+                return 0;
+            }
+            long rank = (long) Math.ceil(total * Math.max(0, Math.min(percentile, 100)) / 100);
+            long seen = 0;
+            for (int i = 0; i < latencyHistogram.length; i++) {
+                seen += latencyHistogram[i];
+                if (seen >= rank && seen > 0) {
+                    return 1L << (i + 1);
+                }
+            }
+            return 1L << LATENCY_BUCKETS;
+        }
+
+        @Override
+        public String toString() {
+            return kind + " " + method + " count=" + count + " payloadSize=" + payloadSize
+                    + " p50=" + getLatencyPercentileMicros(50) + "us p99=" + getLatencyPercentileMicros(99) + "us max=" + maxLatencyNanos / 1000 + "us";
+        }
+    }
+}
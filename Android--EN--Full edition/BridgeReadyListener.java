@@ -0,0 +1,21 @@
+package com.herewhite.sdk;
+
+/**
+ * The `BridgeReadyListener` interface, which reports when the whiteboard page has loaded and the whiteboard view starts to run method calls.
+ *
+ * See {@link WhiteboardView#addBridgeReadyListener(BridgeReadyListener) addBridgeReadyListener}.
+ */
+public interface BridgeReadyListener {
+    /**
+     * Occurs when the whiteboard page has loaded.
+     *
+     * The calls made before this callback, such as the ones made when you create the `WhiteSdk` instance or join a room,
+     * have been queued by the whiteboard view and are sent to the whiteboard before this callback is triggered.
+     *
+     * @note The SDK triggers this callback on the main thread.
+     *
+     * @param pageLoadMillis   The time (ms) from the start of loading the whiteboard page to the moment it has loaded.
+     * @param queuedCallCount  The number of calls that were queued while the page was loading.
+     */
+    void onBridgeReady(long pageLoadMillis, int queuedCallCount);
+}
@@ -0,0 +1,240 @@
+package com.herewhite.sdk;
+
+import com.herewhite.sdk.internal.Logger;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The `BridgeRecorder` class, which records the calls between the SDK and the whiteboard page to a binary log.
+ *
+ * The SDK creates the recorder only after you enable it with
+ * {@link WhiteSdkConfiguration#setEnableBridgeRecording(boolean) setEnableBridgeRecording}.
+ * Get the instance with {@link WhiteSdk#getBridgeRecorder() getBridgeRecorder}, call {@link #start(OutputStream) start} to record,
+ * and replay the log with {@link BridgeReplayer}.
+ *
+ * The recorder records the calls from the SDK to the whiteboard page, their return values, and the calls from the whiteboard page
+ * to the `Room` and `Player` instances, together with their arguments and the time they happened.
+ * While it is not recording, it only adds a volatile read to each call.
+ *
+ * @note The log contains the room state and the custom events of the room. Handle it as you handle other user data.
+ */
+public final class BridgeRecorder {
+
+    /*
+     * The log starts with the magic "WBRL" and a version byte, followed by one record per call:
+     *
+     *   kind        1 byte, one of the KIND_ constants
+     *   time        varint, the microseconds since the previous record
+     *   method      varint index into the method names seen so far;
+     *               a new name takes the next index and is followed by its UTF-8 bytes, prefixed with their varint length
+     *   arguments   varint count, then for each argument its UTF-8 bytes prefixed with a varint of length + 1, or 0 for null
+     */
+    static final byte[] MAGIC = {'W', 'B', 'R', 'L'};
+    static final int VERSION = 1;
+
+    static final int KIND_CALL = 0;
+    static final int KIND_RETURN = 1;
+    static final int KIND_ROOM = 2;
+    static final int KIND_PLAYER = 3;
+
+    static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private final AtomicLong recordCount = new AtomicLong();
+
+    private volatile Session session;
+
+    BridgeRecorder() {
+    }
+
+    /**
+     * Starts recording to `out`.
+     *
+     * If the recorder is already recording, it stops the previous recording first. The recorder writes `out` on a background thread
+     * and closes it when the recording stops.
+     *
+     * @param out The stream to write the log to, for example a `FileOutputStream`. Wrap it in a `GZIPOutputStream` to compress the state JSON in the log.
+     */
+    public void start(OutputStream out) {
+        Session previous;
+        synchronized (this) {
+            previous = session;
+            session = new Session(out);
+        }
+        if (previous != null) {
+            previous.close();
+        }
+    }
+
+    /**
+     * Stops recording, writes the rest of the log, and closes the stream passed to {@link #start(OutputStream) start}.
+     */
+    public void stop() {
+        Session previous;
+        synchronized (this) {
+            previous = session;
+            session = null;
+        }
+        if (previous != null) {
+            previous.close();
+        }
+    }
+
+    /**
+     * Gets whether the recorder is recording.
+     *
+     * @return Whether the recorder is recording:
+     * - `true`: Recording.
+     * - `false`: Not recording.
+     */
+    public boolean isRecording() {
+        return session != null;
+    }
+
+    /**
+     * Gets the number of calls recorded since the SDK was initialized.
+     *
+     * @return The number of calls.
+     */
+    public long getRecordCount() {
+        return recordCount.get();
+    }
+
+    void record(int kind, String method, String... args) {
+        Session current = session;
+        if (current == null) {
+            return;
+        }
+        current.record(kind, method, args);
+        recordCount.incrementAndGet();
+    }
+
+    private final class Session {
+        private final OutputStream out;
+        private final ExecutorService writer = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "BridgeRecorder"));
+        private final Map<String, Integer> methodIndexes = new HashMap<>();
+        private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        private long lastNanos = System.nanoTime();
+        private boolean failed;
+        private boolean closed;
+
+        Session(OutputStream out) {
+            this.out = out;
+            buffer.write(MAGIC, 0, MAGIC.length);
+            buffer.write(VERSION);
+        }
+
+        synchronized void record(int kind, String method, String[] args) {
+            if (failed || closed) {
+                return;
+            }
+            long now = System.nanoTime();
+            buffer.write(kind);
+            writeVarint(buffer, Math.max(0, (now - lastNanos) / 1000));
+            lastNanos = now;
+
+            Integer index = methodIndexes.get(method);
+            if (index == null) {
+                index = methodIndexes.size();
+                methodIndexes.put(method, index);
+                writeVarint(buffer, index);
+                byte[] name = method.getBytes(UTF_8);
+                writeVarint(buffer, name.length);
+                buffer.write(name, 0, name.length);
+            } else {
+                writeVarint(buffer, index);
+            }
+
+            writeVarint(buffer, args.length);
+            for (String arg : args) {
+                if (arg == null) {
+                    writeVarint(buffer, 0);
+                    continue;
+                }
+                byte[] bytes = arg.getBytes(UTF_8);
+                writeVarint(buffer, bytes.length + 1);
+                buffer.write(bytes, 0, bytes.length);
+            }
+            if (buffer.size() >= 64 * 1024) {
+                flush();
+            }
+        }
+
+        /**
+         * Hands the buffered records to the writer thread, so that the calling thread never waits for the disk.
+         */
+        private void flush() {
+            final byte[] bytes = buffer.toByteArray();
+            buffer.reset();
+            writer.execute(() -> {
+                try {
+                    out.write(bytes);
+                } catch (IOException e) {
+                    fail(e);
+                }
+            });
+        }
+
+        private synchronized void fail(IOException e) {
+            if (!failed) {
+                failed = true;
+                Logger.error("An exception occurred while writing the bridge recording", e);
+            }
+        }
+
+        void close() {
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                closed = true;
+                flush();
+            }
+            writer.execute(() -> {
+                try {
+                    out.close();
+                } catch (IOException e) {
+                    fail(e);
+                }
+            });
+            writer.shutdown();
+        }
+    }
+
+    static void writeVarint(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    /**
+     * @return The value, or -1 at the end of the stream before the first byte.
+     */
+    static long readVarint(InputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.read();
+            if (b < 0) {
+                if (shift == 0) {
+                    return -1;
+                }
+                throw new IOException("Truncated bridge recording");
+            }
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint in bridge recording");
+    }
+}
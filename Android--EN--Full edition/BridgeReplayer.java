@@ -0,0 +1,321 @@
+package com.herewhite.sdk;
+
+import com.google.gson.Gson;
+import com.herewhite.sdk.domain.EventEntry;
+import com.herewhite.sdk.domain.PlayerPhase;
+import com.herewhite.sdk.domain.RoomPhase;
+import com.herewhite.sdk.domain.SDKError;
+import com.herewhite.sdk.domain.WhiteGson;
+import com.herewhite.sdk.internal.Logger;
+import com.herewhite.sdk.internal.PlayerDelegate;
+import com.herewhite.sdk.internal.RoomDelegate;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import androidx.annotation.Nullable;
+
+/**
+ * The `BridgeReplayer` class, which replays a log written by {@link BridgeRecorder}.
+ *
+ * The replayer feeds the recorded calls from the whiteboard page to a `Room` or `Player` instance, with the recorded timing
+ * or faster, so that the load a session saw can be reproduced without the whiteboard page.
+ * The recorded calls from the SDK to the whiteboard page and their return values are reported to a {@link CallListener CallListener}.
+ */
+public final class BridgeReplayer {
+
+    private final static Gson gson = WhiteGson.get();
+
+    /**
+     * The callback interface for the recorded calls from the SDK to the whiteboard page.
+     */
+    public interface CallListener {
+        /**
+         * Occurs when the replay reaches a call from the SDK to the whiteboard page.
+         *
+         * @param method The name of the method, such as `room.setScenePath`.
+         * @param args   The arguments in JSON.
+         */
+        void onCall(String method, String[] args);
+
+        /**
+         * Occurs when the replay reaches the return value of a call from the SDK to the whiteboard page.
+         *
+         * @param method The name of the method.
+         * @param value  The return value, or `null`.
+         */
+        void onReturn(String method, @Nullable String value);
+    }
+
+    private final InputStream in;
+    @Nullable
+    private RoomDelegate roomDelegate;
+    @Nullable
+    private PlayerDelegate playerDelegate;
+    @Nullable
+    private CallListener callListener;
+    private double speed = 1;
+
+    /**
+     * Creates a replayer for a log.
+     *
+     * @param in The stream to read the log from, for example a `FileInputStream`. The replayer closes it when the replay ends.
+     */
+    public BridgeReplayer(InputStream in) {
+        this.in = new BufferedInputStream(in);
+    }
+
+    /**
+     * Sets the `Room` instance that receives the recorded calls to a room.
+     *
+     * @param room The `Room` instance. If you do not set it, these calls are skipped.
+     */
+    public void setRoom(@Nullable Room room) {
+        this.roomDelegate = room == null ? null : room.getRoomDelegate();
+    }
+
+    /**
+     * Sets the `Player` instance that receives the recorded calls to a player.
+     *
+     * @param player The `Player` instance. If you do not set it, these calls are skipped.
+     */
+    public void setPlayer(@Nullable Player player) {
+        this.playerDelegate = player == null ? null : player.getDelegate();
+    }
+
+    /**
+     * Sets the listener for the recorded calls from the SDK to the whiteboard page.
+     *
+     * @param callListener The listener. See {@link CallListener CallListener}.
+     */
+    public void setCallListener(@Nullable CallListener callListener) {
+        this.callListener = callListener;
+    }
+
+    /**
+     * Sets the replay speed.
+     *
+     * @param speed The speed relative to the recording. `1` (default) replays with the recorded timing, `2` twice as fast,
+     *              and `0` replays without waiting between calls.
+     */
+    public void setSpeed(double speed) {
+        this.speed = speed;
+    }
+
+    /**
+     * Replays the log on the calling thread and returns when the log ends.
+     *
+     * The recorded calls reach the `Room` and `Player` instances on the calling thread, as the calls from the whiteboard page
+     * reach them on a background thread of the WebView, so call this method on a background thread.
+     * Interrupting the thread stops the replay.
+     *
+     * @return The number of calls replayed.
+     * @throws IOException If the log cannot be read or is not a bridge recording.
+     */
+    public long replay() throws IOException {
+        try {
+            readHeader();
+            List<String> methods = new ArrayList<>();
+            long start = System.nanoTime();
+            long elapsedMicros = 0;
+            long count = 0;
+            int kind;
+            while ((kind = in.read()) >= 0) {
+                elapsedMicros += BridgeRecorder.readVarint(in);
+                String method = readMethod(methods);
+                String[] args = readArgs();
+                if (!waitUntil(start, elapsedMicros)) {
+                    break;
+                }
+                dispatch(kind, method, args);
+                count++;
+            }
+            return count;
+        } finally {
+            in.close();
+        }
+    }
+
+    private void readHeader() throws IOException {
+        byte[] magic = readBytes(BridgeRecorder.MAGIC.length);
+        if (!Arrays.equals(magic, BridgeRecorder.MAGIC)) {
+            throw new IOException("Not a bridge recording");
+        }
+        int version = in.read();
+        if (version != BridgeRecorder.VERSION) {
+            throw new IOException("Unsupported bridge recording version " + version);
+        }
+    }
+
+    private String readMethod(List<String> methods) throws IOException {
+        int index = (int) readLength();
+        if (index < methods.size()) {
+            return methods.get(index);
+        }
+        if (index != methods.size()) {
+            throw new IOException("Malformed method index in bridge recording");
+        }
+        String method = new String(readBytes((int) readLength()), BridgeRecorder.UTF_8);
+        methods.add(method);
+        return method;
+    }
+
+    private String[] readArgs() throws IOException {
+        String[] args = new String[(int) readLength()];
+        for (int i = 0; i < args.length; i++) {
+            long length = readLength();
+            args[i] = length == 0 ? null : new String(readBytes((int) length - 1), BridgeRecorder.UTF_8);
+        }
+        return args;
+    }
+
+    private long readLength() throws IOException {
+        long value = BridgeRecorder.readVarint(in);
+        if (value < 0) {
+            throw new IOException("Truncated bridge recording");
+        }
+        return value;
+    }
+
+    private byte[] readBytes(int length) throws IOException {
+        byte[] bytes = new byte[length];
+        int offset = 0;
+        while (offset < length) {
+            int read = in.read(bytes, offset, length - offset);
+            if (read < 0) {
+                throw new IOException("Truncated bridge recording");
+            }
+            offset += read;
+        }
+        return bytes;
+    }
+
+    /**
+     * @return false if the thread is interrupted.
+     */
+    private boolean waitUntil(long start, long elapsedMicros) {
+        if (speed <= 0) {
+            return !Thread.currentThread().isInterrupted();
+        }
+        long deadline = start + (long) (TimeUnit.MICROSECONDS.toNanos(elapsedMicros) / speed);
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(remaining);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void dispatch(int kind, String method, String[] args) {
+        try {
+            switch (kind) {
+                case BridgeRecorder.KIND_CALL:
+                    if (callListener != null) {
+                        callListener.onCall(method, args);
+                    }
+                    break;
+                case BridgeRecorder.KIND_RETURN:
+                    if (callListener != null) {
+                        callListener.onReturn(method, args.length > 0 ? args[0] : null);
+                    }
+                    break;
+                case BridgeRecorder.KIND_ROOM:
+                    if (roomDelegate != null) {
+                        dispatchRoom(roomDelegate, method, args);
+                    }
+                    break;
+                case BridgeRecorder.KIND_PLAYER:
+                    if (playerDelegate != null) {
+                        dispatchPlayer(playerDelegate, method, args);
+                    }
+                    break;
+                default:
+                    Logger.error("Unknown record kind " + kind + " in bridge recording", null);
+            }
+        } catch (AssertionError a) {
+            throw a;
+        } catch (Exception e) {
+            Logger.error("An exception occurred while replaying " + method, e);
+        }
+    }
+
+    private static void dispatchRoom(RoomDelegate delegate, String method, String[] args) {
+        switch (method) {
+            case "fireMagixEvent":
+                delegate.fireMagixEvent(gson.fromJson(args[0], EventEntry.class));
+                break;
+            case "fireHighFrequencyEvent":
+                delegate.fireHighFrequencyEvent(gson.fromJson(args[0], EventEntry[].class));
+                break;
+            case "firePhaseChanged":
+                delegate.firePhaseChanged(RoomPhase.valueOf(args[0]));
+                break;
+            case "fireCanUndoStepsUpdate":
+                delegate.fireCanUndoStepsUpdate(Long.parseLong(args[0]));
+                break;
+            case "onCanRedoStepsUpdate":
+                delegate.onCanRedoStepsUpdate(Long.parseLong(args[0]));
+                break;
+            case "fireKickedWithReason":
+                delegate.fireKickedWithReason(args[0]);
+                break;
+            case "fireDisconnectWithError":
+                delegate.fireDisconnectWithError(new Exception(args[0]));
+                break;
+            case "fireCatchErrorWhenAppendFrame":
+                delegate.fireCatchErrorWhenAppendFrame(Long.parseLong(args[0]), new Exception(args[1]));
+                break;
+            case "fireRoomStateChanged":
+                delegate.fireRoomStateChanged(args[0]);
+                break;
+            default:
+                Logger.error("Unknown room method " + method + " in bridge recording", null);
+        }
+    }
+
+    private static void dispatchPlayer(PlayerDelegate delegate, String method, String[] args) {
+        switch (method) {
+            case "fireMagixEvent":
+                delegate.fireMagixEvent(gson.fromJson(args[0], EventEntry.class));
+                break;
+            case "fireHighFrequencyEvent":
+                delegate.fireHighFrequencyEvent(gson.fromJson(args[0], EventEntry[].class));
+                break;
+            case "setPlayerPhase":
+                delegate.setPlayerPhase(PlayerPhase.valueOf(args[0]));
+                break;
+            case "onLoadFirstFrame":
+                delegate.onLoadFirstFrame();
+                break;
+            case "onSliceChanged":
+                delegate.onSliceChanged(args[0]);
+                break;
+            case "syncDisplayerState":
+                delegate.syncDisplayerState(args[0]);
+                break;
+            case "onStoppedWithError":
+                delegate.onStoppedWithError(new SDKError(args[0]));
+                break;
+            case "setScheduleTime":
+                delegate.setScheduleTime(Long.parseLong(args[0]));
+                break;
+            case "onCatchErrorWhenAppendFrame":
+                delegate.onCatchErrorWhenAppendFrame(new SDKError(args[0]));
+                break;
+            case "onCatchErrorWhenRender":
+                delegate.onCatchErrorWhenRender(new SDKError(args[0]));
+                break;
+            default:
+                Logger.error("Unknown player method " + method + " in bridge recording", null);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.herewhite.sdk;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.view.Choreographer;
+
+import com.herewhite.sdk.domain.CameraConfig;
+import com.herewhite.sdk.domain.RectangleConfig;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hidden in documentation
+ *
+ * Holds the pending camera moves and sends them through the bridge once per display frame.
+ *
+ * A move replaces a pending move only where the later one overrides it: a {@link RectangleConfig} sets the whole view,
+ * so it replaces a pending rectangle, while a {@link CameraConfig} may set only some of its fields, so it is merged into a pending
+ * camera config field by field, the later non-null fields winning. A move of the other kind is queued behind the pending one,
+ * so no field of an earlier move is lost.
+ */
+final class CameraMoveChannel {
+
+    private final Handler handler;
+    private final JsBridgeInterface bridge;
+
+    private final AtomicLong droppedCount = new AtomicLong();
+
+    private final List<Move> pending = new ArrayList<>();
+    private boolean scheduled;
+
+    private static final class Move {
+        final String method;
+        final Object argument;
+
+        Move(String method, Object argument) {
+            this.method = method;
+            this.argument = argument;
+        }
+    }
+
+    private final Choreographer.FrameCallback frameCallback = frameTimeNanos -> flush();
+    private final Runnable postFrameCallbackRunnable = () -> Choreographer.getInstance().postFrameCallback(frameCallback);
+
+    CameraMoveChannel(Handler handler, JsBridgeInterface bridge) {
+        this.handler = handler;
+        this.bridge = bridge;
+    }
+
+    void offer(String method, Object argument) {
+        synchronized (this) {
+            Move last = pending.isEmpty() ? null : pending.get(pending.size() - 1);
+            Object merged = last == null || !last.method.equals(method) ? null : merge(last.argument, argument);
+            if (merged != null) {
+                pending.set(pending.size() - 1, new Move(method, merged));
+                droppedCount.incrementAndGet();
+            } else {
+                pending.add(new Move(method, argument));
+            }
+            if (scheduled) {
+                return;
+            }
+            scheduled = true;
+        }
+        if (Looper.myLooper() == handler.getLooper()) {
+            postFrameCallbackRunnable.run();
+        } else {
+            // Choreographer is bound to the looper of the calling thread, so register the callback from the main thread.
+            handler.post(postFrameCallbackRunnable);
+        }
+    }
+
+    /**
+     * @return The move that has the effect of {@code earlier} followed by {@code later}, or null if they cannot be combined.
+     */
+    private static Object merge(Object earlier, Object later) {
+        if (earlier instanceof RectangleConfig && later instanceof RectangleConfig) {
+            return later;
+        }
+        if (earlier instanceof CameraConfig && later instanceof CameraConfig) {
+            CameraConfig from = (CameraConfig) earlier;
+            CameraConfig to = (CameraConfig) later;
+            // A new object, as both configs belong to the caller.
+            CameraConfig merged = new CameraConfig();
+            merged.setCenterX(to.getCenterX() != null ? to.getCenterX() : from.getCenterX());
+            merged.setCenterY(to.getCenterY() != null ? to.getCenterY() : from.getCenterY());
+            merged.setScale(to.getScale() != null ? to.getScale() : from.getScale());
+            merged.setAnimationMode(to.getAnimationMode() != null ? to.getAnimationMode() : from.getAnimationMode());
+            return merged;
+        }
+        return null;
+    }
+
+    /**
+     * Sends the pending moves right away, in order. Must be called on the main thread.
+     */
+    void flush() {
+        Move[] moves;
+        synchronized (this) {
+            moves = pending.toArray(new Move[0]);
+            pending.clear();
+            scheduled = false;
+        }
+        for (Move move : moves) {
+            bridge.callHandler(move.method, new Object[]{move.argument});
+        }
+    }
+
+    /**
+     * Stops the scheduled flush and sends what is pending. Must be called on the main thread.
+     */
+    void close() {
+        handler.removeCallbacks(postFrameCallbackRunnable);
+        Choreographer.getInstance().removeFrameCallback(frameCallback);
+        flush();
+    }
+
+    long getDroppedCount() {
+        return droppedCount.get();
+    }
+}
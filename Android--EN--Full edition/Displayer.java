@@ -3,16 +3,17 @@ package com.herewhite.sdk;
 import android.graphics.Bitmap;
 import android.graphics.BitmapFactory;
 import android.graphics.Color;
+import android.os.Build;
 import android.os.Handler;
 import android.os.Looper;
 import android.util.Base64;
 
 import com.google.gson.Gson;
-import com.google.gson.JsonSyntaxException;
 import com.google.gson.reflect.TypeToken;
 import com.herewhite.sdk.domain.AnimationMode;
 import com.herewhite.sdk.domain.CameraBound;
 import com.herewhite.sdk.domain.CameraConfig;
+import com.herewhite.sdk.domain.EventEntry;
 import com.herewhite.sdk.domain.EventListener;
 import com.herewhite.sdk.domain.FrequencyEventListener;
 import com.herewhite.sdk.domain.Point;
@@ -20,17 +21,21 @@ import com.herewhite.sdk.domain.Promise;
 import com.herewhite.sdk.domain.RectangleConfig;
 import com.herewhite.sdk.domain.SDKError;
 import com.herewhite.sdk.domain.Scene;
+import com.herewhite.sdk.domain.WhiteGson;
 import com.herewhite.sdk.domain.WhiteObject;
 import com.herewhite.sdk.domain.WhiteScenePathType;
-import com.herewhite.sdk.internal.Logger;
 
-import org.json.JSONObject;
-
-import java.lang.reflect.Type;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
 
 import androidx.annotation.ColorInt;
+import androidx.annotation.Nullable;
+import androidx.annotation.RequiresApi;
 import androidx.annotation.VisibleForTesting;
 import wendu.dsbridge.OnReturnValue;
 
@@ -39,19 +44,56 @@ import wendu.dsbridge.OnReturnValue;
  * The `Room` class and the `Player` class can both inherit the methods of the `Displayer` class.
  */
 public class Displayer {
-    protected final static Gson gson = new Gson();
+    protected final static Gson gson = WhiteGson.get();
     @ColorInt
     private int backgroundColor = Color.WHITE;
 
     protected final JsBridgeInterface bridge;
+    private final BatchingBridge batchingBridge;
+    private final LaneBridge laneBridge;
     protected String uuid;
     protected int densityDpi;
     private Handler handler;
 
     @VisibleForTesting
-    ConcurrentHashMap<String, EventListener> eventListenerMap = new ConcurrentHashMap<>();
+    final MagixEventBus<EventListener> magixEventBus = new MagixEventBus<>(this::post);
+    @VisibleForTesting
+    final MagixEventBus<FrequencyEventListener> frequencyEventBus = new MagixEventBus<>(this::post);
+    private final ConcurrentHashMap<String, HighFrequencyEventChannel> highFrequencyChannels = new ConcurrentHashMap<>();
     @VisibleForTesting
-    ConcurrentHashMap<String, FrequencyEventListener> frequencyEventListenerMap = new ConcurrentHashMap<>();
+    ConcurrentHashMap<DisplayerStateKey<?>, CopyOnWriteArrayList<DisplayerStateListener<?>>> stateListenerMap = new ConcurrentHashMap<>();
+
+    /**
+     * Disables merging state changes. See {@link #setStateCoalescingWindow(long) setStateCoalescingWindow}.
+     */
+    public static final long STATE_COALESCING_DISABLED = -1;
+    /**
+     * Merges the state changes within one display frame. See {@link #setStateCoalescingWindow(long) setStateCoalescingWindow}.
+     */
+    public static final long STATE_COALESCING_FRAME = 0;
+
+    private volatile DisplayerStateCoalescer stateCoalescer;
+    private final AtomicLong foldedStateCount = new AtomicLong();
+
+    /**
+     * The minimum interval (ms) of a high-frequency event for which a channel is open.
+     * See {@link #openHighFrequencyChannel(String, int, HighFrequencyOverflowPolicy) openHighFrequencyChannel}.
+     */
+    public static final int HIGH_FREQUENCY_CHANNEL_MIN_INTERVAL = 50;
+
+    /**
+     * The default time (ms) within which the whiteboard must return the result of a method that returns a `CompletableFuture`.
+     * See {@link #setAsyncTimeout(long) setAsyncTimeout}.
+     */
+    public static final long DEFAULT_ASYNC_TIMEOUT_MILLIS = 10000;
+
+    private volatile long asyncTimeoutMillis = DEFAULT_ASYNC_TIMEOUT_MILLIS;
+
+    @Nullable
+    private volatile Executor mainThreadExecutor;
+
+    private volatile CameraMoveChannel cameraMoveChannel;
+    private final AtomicLong droppedCameraMoveCount = new AtomicLong();
 
     /// @cond test
     /**
@@ -59,22 +101,75 @@ public class Displayer {
      */
     public Displayer(String uuid, JsBridgeInterface bridge, int densityDpi) {
         this.uuid = uuid;
-        this.bridge = bridge;
+        this.laneBridge = new LaneBridge(bridge);
+        this.batchingBridge = new BatchingBridge(laneBridge, bridge);
+        this.bridge = batchingBridge;
         this.densityDpi = densityDpi;
     }
     /// @endcond
 
-    private Handler getHandler() {
+    Handler getHandler() {
         if (handler == null) {
             handler = new Handler(Looper.getMainLooper());
         }
         return handler;
     }
 
+    /**
+     * Runs the callbacks of this object on {@code executor} instead of the main thread, so that it can be driven without a Looper,
+     * for example with the fake bridge of the benchmarks. Pass {@code null} to go back to the main thread.
+     */
+    void setMainThreadExecutor(@Nullable Executor executor) {
+        this.mainThreadExecutor = executor;
+    }
+
     protected void post(Runnable runnable) {
+        Executor executor = mainThreadExecutor;
+        if (executor != null) {
+            executor.execute(runnable);
+            return;
+        }
         getHandler().post(runnable);
     }
 
+    /**
+     * Starts queuing the method calls of this object, so that they are sent to the whiteboard in one go.
+     *
+     * Every method call of the `Room` and `Player` objects is a separate round trip to the WebView,
+     * which adds up when you make dozens of calls at once, for example when setting up a lesson.
+     * After you call this method, the SDK queues the calls until you call {@link #commitBatch() commitBatch},
+     * and then sends all of them to the whiteboard in a single call.
+     * The whiteboard executes them in the order in which you have made them, and the SDK triggers the `Promise` of each call with its own result.
+     *
+     * @note
+     * - Calls and results are delayed until you call `commitBatch`. Do not wait for the result of a queued call before calling `commitBatch`.
+     * - You can nest batches. The SDK sends the queued calls when you call `commitBatch` for the outermost batch.
+     * - A batch only queues the calls made on the thread that calls `beginBatch`, and you must call `commitBatch` on the same thread.
+     * Calls made on other threads meanwhile are sent as usual.
+     * - The getter methods that do not call the whiteboard, such as {@link Room#getRoomState() getRoomState}, are not affected.
+     * - Sending a batch in a single call requires a whiteboard page that supports it. With an older page, the SDK sends the queued calls
+     * one by one when you call `commitBatch`, so the calls and their results are the same, only without the saving.
+     */
+    public void beginBatch() {
+        batchingBridge.begin();
+    }
+
+    /**
+     * Sends the method calls queued since {@link #beginBatch() beginBatch} to the whiteboard.
+     */
+    public void commitBatch() {
+        batchingBridge.commit();
+    }
+
+    /**
+     * Sends calls of one method to the whiteboard in one go, apart from any batch the application has opened with {@link #beginBatch()}.
+     *
+     * @return Whether the calls have gone out as one call, rather than one by one or not yet.
+     */
+    boolean callHandlerInBatch(String method, List<Object[]> argsList) {
+        return batchingBridge.callBatch(method, argsList);
+    }
+
     /**
      * Sends message in string format to the iframe plugin.
      *
@@ -111,13 +206,7 @@ public class Displayer {
      *
      */
     public void getScenePathType(String path, final Promise<WhiteScenePathType> promise) {
-        bridge.callHandler("displayer.scenePathType", new Object[]{path}, new OnReturnValue<String>() {
-            @Override
-            public void onValue(String retValue) {
-                WhiteScenePathType type = gson.fromJson(retValue, WhiteScenePathType.class);
-                promise.then(type);
-            }
-        });
+        bridge.callHandler("displayer.scenePathType", new Object[]{path}, PromiseReturnValue.of("getScenePathType", WhiteScenePathType.class, promise));
     }
 
 
@@ -130,15 +219,7 @@ public class Displayer {
      * - An error message, if the method call fails.
      */
     public void getEntireScenes(final Promise<Map<String, Scene[]>> promise) {
-        bridge.callHandler("displayer.entireScenes", new OnReturnValue<JSONObject>() {
-            @Override
-            public void onValue(JSONObject retValue) {
-                Type type = new TypeToken<Map<String, Scene[]>>() {
-                }.getType();
-                Map<String, Scene[]> map = gson.fromJson(String.valueOf(retValue), type);
-                promise.then(map);
-            }
-        });
+        bridge.callHandler("displayer.entireScenes", PromiseReturnValue.of("getEntireScenes", new TypeToken<Map<String, Scene[]>>() {}, promise));
     }
 
     /**
@@ -184,51 +265,333 @@ public class Displayer {
     /**
      * Adds a listener for a customized event.
      *
-     * You can receive the customized event callback after a successful call of this method.
-     *
-     * @note The SDK triggers only one callback for customized events with the same name.
+     * You can receive the customized event callback after a successful call of this method. The callback runs on the main thread.
      *
      * @param eventName The name of the event.
      * @param eventListener The customized event callback. See {@link com.herewhite.sdk.domain.EventListener EventListener}.
-     * If you add multiple callbacks for the same event, the callback added later overrides the one added earlier.
+     * You can add any number of callbacks for the same event. Adding the same callback again has no effect.
      *
      */
     public void addMagixEventListener(String eventName, EventListener eventListener) {
-        this.eventListenerMap.put(eventName, eventListener);
+        addMagixEventListener(eventName, eventListener, MagixEventExecutors.MAIN_THREAD);
+    }
+
+    /**
+     * Adds a listener for a customized event, which runs on the specified executor.
+     *
+     * @param eventName The name of the event.
+     * @param eventListener The customized event callback. See {@link com.herewhite.sdk.domain.EventListener EventListener}.
+     * You can add any number of callbacks for the same event. Adding the same callback again has no effect.
+     * @param executor The executor that runs the callback, for example {@link MagixEventExecutors#MAIN_THREAD MAIN_THREAD},
+     * {@link MagixEventExecutors#INLINE INLINE}, or a thread pool of your own. See {@link MagixEventExecutors MagixEventExecutors}.
+     */
+    public void addMagixEventListener(String eventName, EventListener eventListener, Executor executor) {
+        addMagixEventListener(eventName, eventListener, null, executor);
+    }
+
+    /**
+     * Adds a listener for the customized events that match a filter.
+     *
+     * The callback runs on the main thread. The SDK matches the scope and the sender of each event against `filter` before
+     * it schedules the callback, and does not decode the content of the events it skips. In a large room, a listener that only
+     * wants the events of the broadcaster, for example, no longer pays for the events of every other user.
+     *
+     * @param eventName The name of the event.
+     * @param eventListener The customized event callback. See {@link com.herewhite.sdk.domain.EventListener EventListener}.
+     * You can add any number of callbacks for the same event. Adding the same callback again has no effect.
+     * @param filter The filter. See {@link MagixEventFilter MagixEventFilter}.
+     */
+    public void addMagixEventListener(String eventName, EventListener eventListener, MagixEventFilter filter) {
+        addMagixEventListener(eventName, eventListener, filter, MagixEventExecutors.MAIN_THREAD);
+    }
+
+    /**
+     * Adds a listener for the customized events that match a filter, which runs on the specified executor.
+     *
+     * @param eventName The name of the event.
+     * @param eventListener The customized event callback. See {@link com.herewhite.sdk.domain.EventListener EventListener}.
+     * You can add any number of callbacks for the same event. Adding the same callback again has no effect.
+     * @param filter The filter, or `null` to receive all events of the name. See {@link MagixEventFilter MagixEventFilter}.
+     * @param executor The executor that runs the callback. See {@link MagixEventExecutors MagixEventExecutors}.
+     */
+    public void addMagixEventListener(String eventName, EventListener eventListener, @Nullable MagixEventFilter filter, Executor executor) {
+        magixEventBus.add(eventName, eventListener, executor, filter);
         bridge.callHandler("displayer.addMagixEventListener", new Object[]{eventName});
     }
 
     /**
      * Adds a listener for a customized high-frequency event.
      *
-     * You can receive the customized event callback after a successful call of this method.
-     *
-     * @note The SDK triggers only one callback for customized events with the same name.
+     * You can receive the customized event callback after a successful call of this method. The callback runs on the main thread.
      *
      * @param eventName     The name of the event.
      * @param eventListener The customized event callback. See {@link com.herewhite.sdk.domain.FrequencyEventListener FrequencyEventListener}.
-     * If you add multiple callbacks for the same event, the callback added later overrides the one added earlier.
+     * You can add any number of callbacks for the same event. Adding the same callback again has no effect.
      * @param fireInterval  The interval (ms) at which the SDK triggers the callback. The minimum interval is 500 ms. The SDK automatically adjusts values smaller than 500 to 500.
+     * The interval set last applies to all callbacks of the event.
      */
     public void addHighFrequencyEventListener(String eventName, FrequencyEventListener eventListener, Integer fireInterval) {
-        if (fireInterval < 500) {
-            fireInterval = 500;
+        addHighFrequencyEventListener(eventName, eventListener, fireInterval, MagixEventExecutors.MAIN_THREAD);
+    }
+
+    /**
+     * Adds a listener for a customized high-frequency event, which runs on the specified executor.
+     *
+     * @param eventName     The name of the event.
+     * @param eventListener The customized event callback. See {@link com.herewhite.sdk.domain.FrequencyEventListener FrequencyEventListener}.
+     * You can add any number of callbacks for the same event. Adding the same callback again has no effect.
+     * @param fireInterval  The interval (ms) at which the SDK triggers the callback. The minimum interval is 500 ms. The SDK automatically adjusts values smaller than 500 to 500.
+     * If a channel is open for the event, the minimum interval is {@link #HIGH_FREQUENCY_CHANNEL_MIN_INTERVAL HIGH_FREQUENCY_CHANNEL_MIN_INTERVAL} instead,
+     * but a whiteboard page of an earlier version may still raise it to 500 ms.
+     * The interval set last applies to all callbacks of the event.
+     * @param executor The executor that runs the callback. See {@link MagixEventExecutors MagixEventExecutors}.
+     */
+    public void addHighFrequencyEventListener(String eventName, FrequencyEventListener eventListener, Integer fireInterval, Executor executor) {
+        int minInterval = highFrequencyChannels.containsKey(eventName) ? HIGH_FREQUENCY_CHANNEL_MIN_INTERVAL : 500;
+        if (fireInterval < minInterval) {
+            fireInterval = minInterval;
         }
-        this.frequencyEventListenerMap.put(eventName, eventListener);
+        frequencyEventBus.add(eventName, eventListener, executor);
         bridge.callHandler("displayer.addHighFrequencyEventListener", new Object[]{eventName, fireInterval});
     }
 
     /**
-     * Removes a listener for a customized event.
+     * Removes all listeners for a customized event.
      *
      * @param eventName The name of the event.
      */
     public void removeMagixEventListener(String eventName) {
-        this.eventListenerMap.remove(eventName);
-        this.frequencyEventListenerMap.remove(eventName);
+        magixEventBus.removeAll(eventName);
+        frequencyEventBus.removeAll(eventName);
         bridge.callHandler("displayer.removeMagixEventListener", new Object[]{eventName});
     }
 
+    /**
+     * Removes a listener for a customized event.
+     *
+     * The SDK stops receiving the event from the whiteboard when the last listener of the event is removed.
+     *
+     * @param eventName The name of the event.
+     * @param eventListener The callback added with {@link #addMagixEventListener(String, EventListener) addMagixEventListener}.
+     */
+    public void removeMagixEventListener(String eventName, EventListener eventListener) {
+        magixEventBus.remove(eventName, eventListener);
+        removeMagixEventListenerIfUnused(eventName);
+    }
+
+    /**
+     * Removes a listener for a customized high-frequency event.
+     *
+     * The SDK stops receiving the event from the whiteboard when the last listener of the event is removed.
+     *
+     * @param eventName The name of the event.
+     * @param eventListener The callback added with {@link #addHighFrequencyEventListener(String, FrequencyEventListener, Integer) addHighFrequencyEventListener}.
+     */
+    public void removeHighFrequencyEventListener(String eventName, FrequencyEventListener eventListener) {
+        frequencyEventBus.remove(eventName, eventListener);
+        removeMagixEventListenerIfUnused(eventName);
+    }
+
+    private void removeMagixEventListenerIfUnused(String eventName) {
+        if (!magixEventBus.hasListeners(eventName) && !frequencyEventBus.hasListeners(eventName)) {
+            bridge.callHandler("displayer.removeMagixEventListener", new Object[]{eventName});
+        }
+    }
+
+    /**
+     * Opens a channel that buffers a customized high-frequency event, so that it can be delivered at intervals shorter than 500 ms.
+     *
+     * At short intervals, for example 50 to 100 ms for the cursors of the other users, the events can arrive faster than the main thread
+     * runs the callbacks. Without a channel, each group of events waits on the main thread in its own task, and the delay keeps growing.
+     * A channel keeps up to `capacity` pending events in a fixed buffer and passes all of them to the callbacks in one call, so the callbacks
+     * always see the latest events. When the buffer is full, `policy` decides what is kept. You can get the number of delivered, dropped
+     * and coalesced events with {@link #getHighFrequencyChannelStats(String) getHighFrequencyChannelStats}.
+     *
+     * @note
+     * - Call this method before {@link #addHighFrequencyEventListener(String, FrequencyEventListener, Integer) addHighFrequencyEventListener},
+     * which accepts intervals down to {@link #HIGH_FREQUENCY_CHANNEL_MIN_INTERVAL HIGH_FREQUENCY_CHANNEL_MIN_INTERVAL} for the event after that.
+     * - The whiteboard page applies its own minimum interval, and a page of an earlier version may still raise shorter intervals to 500 ms.
+     * The channel then works as usual, but the events do not arrive more often than that. Check {@link HighFrequencyChannelStats#getDeliveryCount() getDeliveryCount}
+     * against the elapsed time to see the interval actually in effect.
+     * - The array passed to a callback that runs on the main thread is reused for a later delivery once the callback returns.
+     * Copy the array if you keep the events after that.
+     * - Opening the channel again replaces the previous channel and resets the statistics.
+     *
+     * @param eventName The name of the event.
+     * @param capacity  The largest number of pending events, at least 1. For cursors, the number of users who move their cursor at the same time is enough.
+     * @param policy    What to keep when the buffer is full. See {@link HighFrequencyOverflowPolicy HighFrequencyOverflowPolicy}.
+     */
+    public void openHighFrequencyChannel(final String eventName, int capacity, HighFrequencyOverflowPolicy policy) {
+        HighFrequencyEventChannel channel = new HighFrequencyEventChannel(eventName, capacity, policy, this::post,
+                eventEntries -> frequencyEventBus.dispatch(eventName, eventEntries, FrequencyEventListener::onEvent, true));
+        HighFrequencyEventChannel previous = highFrequencyChannels.put(eventName, channel);
+        if (previous != null) {
+            post(previous::drain);
+        }
+    }
+
+    /**
+     * Closes the channel opened with {@link #openHighFrequencyChannel(String, int, HighFrequencyOverflowPolicy) openHighFrequencyChannel}.
+     *
+     * The pending events are still delivered. After that, each group of events goes to the callbacks separately, at the interval already set.
+     *
+     * @param eventName The name of the event.
+     */
+    public void closeHighFrequencyChannel(String eventName) {
+        HighFrequencyEventChannel previous = highFrequencyChannels.remove(eventName);
+        if (previous != null) {
+            post(previous::drain);
+        }
+    }
+
+    /**
+     * Gets the statistics of a high-frequency event channel.
+     *
+     * @param eventName The name of the event.
+     * @return The statistics since the channel was opened, or `null` if no channel is open for the event.
+     * See {@link HighFrequencyChannelStats HighFrequencyChannelStats}.
+     */
+    @Nullable
+    public HighFrequencyChannelStats getHighFrequencyChannelStats(String eventName) {
+        HighFrequencyEventChannel channel = highFrequencyChannels.get(eventName);
+        return channel == null ? null : channel.getStats();
+    }
+
+    void fireMagixEvent(EventEntry eventEntry) {
+        magixEventBus.dispatch(eventEntry.getEventName(), eventEntry, eventEntry, EventListener::onEvent, false);
+    }
+
+    void fireHighFrequencyEvent(EventEntry[] eventEntries) {
+        if (eventEntries == null || eventEntries.length == 0) {
+            return;
+        }
+        String eventName = eventEntries[0].getEventName();
+        HighFrequencyEventChannel channel = highFrequencyChannels.get(eventName);
+        if (channel != null) {
+            channel.offer(eventEntries);
+        } else {
+            frequencyEventBus.dispatch(eventName, eventEntries, FrequencyEventListener::onEvent);
+        }
+    }
+
+    /**
+     * Adds a listener for a single field of the room or player state.
+     *
+     * Unlike {@link RoomListener#onRoomStateChanged(com.herewhite.sdk.domain.RoomState) onRoomStateChanged} and
+     * {@link PlayerListener#onPlayerStateChanged(com.herewhite.sdk.domain.PlayerState) onPlayerStateChanged},
+     * the SDK decodes only the fields that have listeners, and only when they change.
+     * The callback is triggered on the main thread.
+     *
+     * @param key      The state field. See {@link DisplayerStateKey DisplayerStateKey}.
+     * @param listener The callback for changes of the state field. See {@link DisplayerStateListener DisplayerStateListener}.
+     */
+    public <V> void addDisplayerStateListener(DisplayerStateKey<V> key, DisplayerStateListener<V> listener) {
+        CopyOnWriteArrayList<DisplayerStateListener<?>> listeners = stateListenerMap.get(key);
+        if (listeners == null) {
+            stateListenerMap.putIfAbsent(key, new CopyOnWriteArrayList<>());
+            listeners = stateListenerMap.get(key);
+        }
+        listeners.addIfAbsent(listener);
+    }
+
+    /**
+     * Removes a listener for a single field of the room or player state.
+     *
+     * @param key      The state field. See {@link DisplayerStateKey DisplayerStateKey}.
+     * @param listener The listener added by {@link #addDisplayerStateListener(DisplayerStateKey, DisplayerStateListener) addDisplayerStateListener}.
+     */
+    public <V> void removeDisplayerStateListener(DisplayerStateKey<V> key, DisplayerStateListener<V> listener) {
+        CopyOnWriteArrayList<DisplayerStateListener<?>> listeners = stateListenerMap.get(key);
+        if (listeners != null) {
+            listeners.remove(listener);
+        }
+    }
+
+    /**
+     * Sets whether to merge the room or player state changes that arrive close together into one callback.
+     *
+     * By default, the SDK triggers {@link RoomListener#onRoomStateChanged(com.herewhite.sdk.domain.RoomState) onRoomStateChanged},
+     * {@link PlayerListener#onPlayerStateChanged(com.herewhite.sdk.domain.PlayerState) onPlayerStateChanged} and the listeners added by
+     * {@link #addDisplayerStateListener(DisplayerStateKey, DisplayerStateListener) addDisplayerStateListener} once for every state change.
+     * During fast camera moves or when many users draw at the same time, this can be dozens of times per second.
+     * After you enable merging, the SDK collects the changes within one frame or one time window and reports them in a single callback,
+     * which contains the latest value of every field that has changed.
+     *
+     * @note Changes reported before the window ends are delayed until the window ends.
+     *
+     * @param windowMillis The merging window:
+     * - {@link #STATE_COALESCING_DISABLED}: (Default) Disables merging.
+     * - {@link #STATE_COALESCING_FRAME}: Merges the changes within one display frame.
+     * - A positive value: Merges the changes within the specified time (ms).
+     */
+    public void setStateCoalescingWindow(long windowMillis) {
+        DisplayerStateCoalescer coalescer = null;
+        if (windowMillis >= 0) {
+            coalescer = new DisplayerStateCoalescer(getHandler(), windowMillis, this::dispatchDisplayerStateChanged);
+        }
+        DisplayerStateCoalescer previous = stateCoalescer;
+        stateCoalescer = coalescer;
+        if (previous != null) {
+            foldedStateCount.addAndGet(previous.getFoldedCount());
+            post(previous::close);
+        }
+    }
+
+    /**
+     * Gets the number of state changes that have been merged into another callback.
+     *
+     * See {@link #setStateCoalescingWindow(long) setStateCoalescingWindow}.
+     *
+     * @return The number of state changes that did not trigger a callback of their own.
+     */
+    public long getFoldedStateChangeCount() {
+        DisplayerStateCoalescer coalescer = stateCoalescer;
+        return foldedStateCount.get() + (coalescer == null ? 0 : coalescer.getFoldedCount());
+    }
+
+    /**
+     * Called on the bridge thread with the fields changed by one state sync.
+     */
+    void handleDisplayerStateChanged(SyncDisplayerState.Snapshot<?> modifyState) {
+        DisplayerStateCoalescer coalescer = stateCoalescer;
+        if (coalescer != null) {
+            coalescer.offer(modifyState);
+            return;
+        }
+        prepareDisplayerStateChanged(modifyState);
+        post(() -> dispatchDisplayerStateChanged(modifyState));
+    }
+
+    /**
+     * Decodes the changed fields that have listeners, so the main thread does not have to.
+     */
+    void prepareDisplayerStateChanged(SyncDisplayerState.Snapshot<?> modifyState) {
+        for (DisplayerStateKey<?> key : stateListenerMap.keySet()) {
+            if (modifyState.has(key.getName())) {
+                key.read(modifyState);
+            }
+        }
+    }
+
+    /**
+     * Triggers the state callbacks on the main thread.
+     */
+    void dispatchDisplayerStateChanged(SyncDisplayerState.Snapshot<?> modifyState) {
+        for (Map.Entry<DisplayerStateKey<?>, CopyOnWriteArrayList<DisplayerStateListener<?>>> entry : stateListenerMap.entrySet()) {
+            if (!entry.getValue().isEmpty() && modifyState.has(entry.getKey().getName())) {
+                dispatchDisplayerStateChanged(entry.getKey(), entry.getValue(), modifyState);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <V> void dispatchDisplayerStateChanged(DisplayerStateKey<V> key, CopyOnWriteArrayList<DisplayerStateListener<?>> listeners, SyncDisplayerState.Snapshot<?> modifyState) {
+        V value = key.read(modifyState);
+        for (DisplayerStateListener<?> listener : listeners) {
+            ((DisplayerStateListener<V>) listener).onDisplayerStateChanged(value);
+        }
+    }
+
     /**
      * Converts the coordinates of a point on the whiteboard.
      *
@@ -242,22 +605,7 @@ public class Displayer {
      * - An error message, if the method call fails.
      */
     public void convertToPointInWorld(double x, double y, final Promise<Point> promise) {
-        bridge.callHandler("displayer.convertToPointInWorld", new Object[]{x, y}, new OnReturnValue<Object>() {
-            @Override
-            public void onValue(Object o) {
-                try {
-                    promise.then(gson.fromJson(String.valueOf(o), Point.class));
-                } catch (AssertionError a) {
-                    throw a;
-                } catch (JsonSyntaxException e) {
-                    Logger.error("An JsonSyntaxException occurred while parse json from convertToPointInWorld", e);
-                    promise.catchEx(new SDKError(e.getMessage()));
-                } catch (Throwable e) {
-                    Logger.error("An exception occurred in convertToPointInWorld promise then method", e);
-                    promise.catchEx(new SDKError(e.getMessage()));
-                }
-            }
-        });
+        bridge.callHandler("displayer.convertToPointInWorld", new Object[]{x, y}, PromiseReturnValue.of("convertToPointInWorld", Point.class, promise));
     }
 
     /**
@@ -398,7 +746,7 @@ public class Displayer {
      * @param camera Settings of the view. See {@link com.herewhite.sdk.domain.CameraConfig CameraConfig}.
      */
     public void moveCamera(CameraConfig camera) {
-        this.bridge.callHandler("displayer.moveCamera", new Object[]{camera});
+        moveCamera("displayer.moveCamera", camera);
     }
 
     /**
@@ -409,6 +757,197 @@ public class Displayer {
      * @param rectangle Settings of the view rectangle. See {@link com.herewhite.sdk.domain.RectangleConfig RectangleConfig}.
      */
     public void moveCameraToContainer(RectangleConfig rectangle) {
-        this.bridge.callHandler("displayer.moveCameraToContain", new Object[]{rectangle});
+        moveCamera("displayer.moveCameraToContain", rectangle);
+    }
+
+    private void moveCamera(String method, Object argument) {
+        CameraMoveChannel channel = cameraMoveChannel;
+        if (channel != null) {
+            channel.offer(method, argument);
+        } else {
+            this.bridge.callHandler(method, new Object[]{argument});
+        }
+    }
+
+    /**
+     * Sets whether to merge the view adjustments of each display frame.
+     *
+     * When you call {@link #moveCamera(CameraConfig) moveCamera} or {@link #moveCameraToContainer(RectangleConfig) moveCameraToContainer}
+     * for every touch event, for example, to follow a pinch gesture, most calls are replaced by the next one before the whiteboard can render them.
+     * After you enable this option, the SDK merges the calls made within a display frame and sends the result to the whiteboard once per frame:
+     * - Consecutive `moveCamera` calls are merged into one. A field that the later call sets replaces the same field of the earlier call,
+     * and a field that the later call leaves `null` keeps the value of the earlier call.
+     * - Consecutive `moveCameraToContainer` calls are replaced by the latest one, as each of them sets the whole view.
+     * - A `moveCamera` call and a `moveCameraToContainer` call are not merged; both are sent, in order.
+     *
+     * You can get the number of merged calls with {@link #getDroppedCameraMoveCount() getDroppedCameraMoveCount}.
+     *
+     * @note
+     * - The view adjustment is sent on the next display frame, so it is sent after the other method calls that you make before that frame.
+     * - When you disable this option, the SDK sends the pending view adjustments right away.
+     *
+     * @param enable Whether to merge the view adjustments of each display frame:
+     * - `true`: Merge the view adjustments of each display frame.
+     * - `false`: (Default) Send every view adjustment.
+     */
+    public void setCameraMoveCoalescing(boolean enable) {
+        CameraMoveChannel channel = enable ? new CameraMoveChannel(getHandler(), bridge) : null;
+        CameraMoveChannel previous = cameraMoveChannel;
+        cameraMoveChannel = channel;
+        if (previous != null) {
+            droppedCameraMoveCount.addAndGet(previous.getDroppedCount());
+            post(previous::close);
+        }
+    }
+
+    /**
+     * Gets the number of view adjustments that have been merged into a later one before they were sent.
+     *
+     * See {@link #setCameraMoveCoalescing(boolean) setCameraMoveCoalescing}.
+     *
+     * @return The number of dropped view adjustments.
+     */
+    public long getDroppedCameraMoveCount() {
+        CameraMoveChannel channel = cameraMoveChannel;
+        return droppedCameraMoveCount.get() + (channel == null ? 0 : channel.getDroppedCount());
+    }
+
+    /**
+     * Sets whether calls to the whiteboard go through priority lanes.
+     *
+     * Heavy calls, such as {@link Room#putScenes(String, Scene[], int) putScenes} with many scenes, {@link #getEntireScenes(Promise) getEntireScenes}
+     * and scene snapshots, keep the whiteboard busy for a while. Every call made meanwhile waits behind them, including the view
+     * and tool changes the user is waiting to see. With priority lanes, the SDK sends the heavy calls one at a time, splits a large
+     * `putScenes` call into several smaller ones, and sends view and tool changes, such as {@link #moveCamera(CameraConfig) moveCamera}
+     * and {@link Room#setMemberState(com.herewhite.sdk.domain.MemberState) setMemberState}, between them. See {@link BridgeLane BridgeLane}.
+     *
+     * @note
+     * - Calls other than view and tool changes keep their order relative to the heavy calls.
+     * - A view or tool change can reach the whiteboard before a heavy call made earlier, for example a `moveCamera` call before a
+     * `putScenes` call that was made first. Do not enable priority lanes if your application relies on that order.
+     * - The calls of a {@link #beginBatch() batch} are sent together. A batch made only of view and tool changes goes between the heavy calls;
+     * a batch that holds a heavy call is sent as a heavy call, and any other batch waits behind the heavy calls made before it.
+     * - A large `putScenes` call that is split returns the error of the first part that fails, if any.
+     *
+     * @param enable Whether to use priority lanes:
+     * - `true`: Use priority lanes.
+     * - `false`: (Default) Send every call in order as soon as it is made.
+     */
+    public void setPriorityLanes(boolean enable) {
+        laneBridge.setEnabled(enable);
+    }
+
+    /**
+     * Gets the statistics of a priority lane.
+     *
+     * The statistics cover the calls made while priority lanes are enabled. See {@link #setPriorityLanes(boolean) setPriorityLanes}.
+     *
+     * @param lane The lane. See {@link BridgeLane BridgeLane}.
+     * @return The statistics of the lane. See {@link BridgeLaneStats BridgeLaneStats}.
+     */
+    public BridgeLaneStats getBridgeLaneStats(BridgeLane lane) {
+        return laneBridge.getStats(lane);
+    }
+
+    /**
+     * Sets the time within which the whiteboard must return the result of a method that returns a `CompletableFuture`,
+     * such as {@link Room#getRoomMembersAsync() getRoomMembersAsync}.
+     *
+     * If the whiteboard does not return in time, the future fails with a `TimeoutException` and the late result is ignored.
+     *
+     * @param timeoutMillis The time (ms). The default value is {@link #DEFAULT_ASYNC_TIMEOUT_MILLIS}. Set it to `0` to wait without a time limit.
+     */
+    public void setAsyncTimeout(long timeoutMillis) {
+        this.asyncTimeoutMillis = timeoutMillis;
+    }
+
+    @RequiresApi(api = Build.VERSION_CODES.N)
+    <T> FuturePromise<T> newFuturePromise(String method) {
+        return new FuturePromise<>(getHandler(), method, asyncTimeoutMillis);
+    }
+
+    /**
+     * Gets the type of the scene path.
+     *
+     * This method is the same as {@link #getScenePathType(String, Promise) getScenePathType}, except that it returns a `CompletableFuture`.
+     * The future fails with a `TimeoutException` if the whiteboard does not return within the time set by {@link Displayer#setAsyncTimeout(long) setAsyncTimeout}.
+     *
+     * @note This method requires Android 7.0 (API level 24) or later.
+     *
+     * @return The `CompletableFuture<WhiteScenePathType>` object.
+     */
+    @RequiresApi(api = Build.VERSION_CODES.N)
+    public CompletableFuture<WhiteScenePathType> getScenePathTypeAsync(String path) {
+        FuturePromise<WhiteScenePathType> promise = newFuturePromise("getScenePathType");
+        getScenePathType(path, promise);
+        return promise.getFuture();
+    }
+
+    /**
+     * Gets information about all scenes in the room.
+     *
+     * This method is the same as {@link #getEntireScenes(Promise) getEntireScenes}, except that it returns a `CompletableFuture`.
+     * The future fails with a `TimeoutException` if the whiteboard does not return within the time set by {@link Displayer#setAsyncTimeout(long) setAsyncTimeout}.
+     *
+     * @note This method requires Android 7.0 (API level 24) or later.
+     *
+     * @return The `CompletableFuture<Map<String, Scene[]>>` object.
+     */
+    @RequiresApi(api = Build.VERSION_CODES.N)
+    public CompletableFuture<Map<String, Scene[]>> getEntireScenesAsync() {
+        FuturePromise<Map<String, Scene[]>> promise = newFuturePromise("getEntireScenes");
+        getEntireScenes(promise);
+        return promise.getFuture();
+    }
+
+    /**
+     * Converts the coordinates of a point on the whiteboard.
+     *
+     * This method is the same as {@link #convertToPointInWorld(double, double, Promise) convertToPointInWorld}, except that it returns a `CompletableFuture`.
+     * The future fails with a `TimeoutException` if the whiteboard does not return within the time set by {@link Displayer#setAsyncTimeout(long) setAsyncTimeout}.
+     *
+     * @note This method requires Android 7.0 (API level 24) or later.
+     *
+     * @return The `CompletableFuture<Point>` object.
+     */
+    @RequiresApi(api = Build.VERSION_CODES.N)
+    public CompletableFuture<Point> convertToPointInWorldAsync(double x, double y) {
+        FuturePromise<Point> promise = newFuturePromise("convertToPointInWorld");
+        convertToPointInWorld(x, y, promise);
+        return promise.getFuture();
+    }
+
+    /**
+     * Gets the preview of the specified scene.
+     *
+     * This method is the same as {@link #getScenePreviewImage(String, Promise) getScenePreviewImage}, except that it returns a `CompletableFuture`.
+     * The future fails with a `TimeoutException` if the whiteboard does not return within the time set by {@link Displayer#setAsyncTimeout(long) setAsyncTimeout}.
+     *
+     * @note This method requires Android 7.0 (API level 24) or later.
+     *
+     * @return The `CompletableFuture<Bitmap>` object.
+     */
+    @RequiresApi(api = Build.VERSION_CODES.N)
+    public CompletableFuture<Bitmap> getScenePreviewImageAsync(String scenePath) {
+        FuturePromise<Bitmap> promise = newFuturePromise("getScenePreviewImage");
+        getScenePreviewImage(scenePath, promise);
+        return promise.getFuture();
+    }
+
+    /**
+     * Gets the screenshot of the specified scene.
+     *
+     * This method is the same as {@link #getSceneSnapshotImage(String, Promise) getSceneSnapshotImage}, except that it returns a `CompletableFuture`.
+     * The future fails with a `TimeoutException` if the whiteboard does not return within the time set by {@link Displayer#setAsyncTimeout(long) setAsyncTimeout}.
+     *
+     * @note This method requires Android 7.0 (API level 24) or later.
+     *
+     * @return The `CompletableFuture<Bitmap>` object.
+     */
+    @RequiresApi(api = Build.VERSION_CODES.N)
+    public CompletableFuture<Bitmap> getSceneSnapshotImageAsync(String scenePath) {
+        FuturePromise<Bitmap> promise = newFuturePromise("getSceneSnapshotImage");
+        getSceneSnapshotImage(scenePath, promise);
+        return promise.getFuture();
     }
 }
@@ -0,0 +1,92 @@
+package com.herewhite.sdk;
+
+import android.os.Handler;
+import android.view.Choreographer;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hidden in documentation
+ *
+ * Folds the modify states that arrive from the bridge thread into one pending delta,
+ * and hands it to the sink on the main thread once per frame or once per time window.
+ * A later value of a key replaces the earlier one, so the sink always sees the latest value of every changed key.
+ */
+final class DisplayerStateCoalescer {
+
+    interface Sink {
+        void onDisplayerStateChanged(SyncDisplayerState.Snapshot<?> modifyState);
+    }
+
+    private final Handler handler;
+    private final long windowMillis;
+    private final Sink sink;
+
+    private final AtomicLong foldedCount = new AtomicLong();
+
+    private SyncDisplayerState.Snapshot<?> pending;
+    private boolean scheduled;
+
+    private final Runnable flushRunnable = this::flush;
+    private final Choreographer.FrameCallback frameCallback = frameTimeNanos -> flush();
+    private final Runnable postFrameCallbackRunnable = () -> Choreographer.getInstance().postFrameCallback(frameCallback);
+
+    /**
+     * @param windowMillis {@link Displayer#STATE_COALESCING_FRAME} to flush on the next frame, otherwise the window in milliseconds.
+     */
+    DisplayerStateCoalescer(Handler handler, long windowMillis, Sink sink) {
+        this.handler = handler;
+        this.windowMillis = windowMillis;
+        this.sink = sink;
+    }
+
+    void offer(SyncDisplayerState.Snapshot<?> modifyState) {
+        synchronized (this) {
+            if (pending == null) {
+                pending = modifyState;
+            } else {
+                pending = pending.mergedWith(modifyState);
+                foldedCount.incrementAndGet();
+            }
+            if (scheduled) {
+                return;
+            }
+            scheduled = true;
+        }
+        if (windowMillis == Displayer.STATE_COALESCING_FRAME) {
+            // Choreographer is bound to the looper of the calling thread, so register the callback from the main thread.
+            handler.post(postFrameCallbackRunnable);
+        } else {
+            handler.postDelayed(flushRunnable, windowMillis);
+        }
+    }
+
+    /**
+     * Dispatches the pending delta right away. Must be called on the main thread.
+     */
+    void flush() {
+        SyncDisplayerState.Snapshot<?> modifyState;
+        synchronized (this) {
+            modifyState = pending;
+            pending = null;
+            scheduled = false;
+        }
+        if (modifyState != null) {
+            sink.onDisplayerStateChanged(modifyState);
+        }
+    }
+
+    /**
+     * Stops the scheduled flush and dispatches what is pending. Must be called on the main thread.
+     */
+    void close() {
+        handler.removeCallbacks(flushRunnable);
+        handler.removeCallbacks(postFrameCallbackRunnable);
+        Choreographer.getInstance().removeFrameCallback(frameCallback);
+        flush();
+    }
+
+    long getFoldedCount() {
+        return foldedCount.get();
+    }
+}
@@ -0,0 +1,113 @@
+package com.herewhite.sdk;
+
+import com.google.gson.JsonSyntaxException;
+import com.herewhite.sdk.domain.BroadcastState;
+import com.herewhite.sdk.domain.CameraState;
+import com.herewhite.sdk.domain.GlobalState;
+import com.herewhite.sdk.domain.MemberState;
+import com.herewhite.sdk.domain.PlayerObserverMode;
+import com.herewhite.sdk.domain.RoomMember;
+import com.herewhite.sdk.domain.SceneState;
+import com.herewhite.sdk.domain.WhiteDisplayerState;
+import com.herewhite.sdk.internal.Logger;
+
+/**
+ * The `DisplayerStateKey` class, which identifies a single field of the room or player state.
+ *
+ * Pass a key to {@link Displayer#addDisplayerStateListener(DisplayerStateKey, DisplayerStateListener) addDisplayerStateListener}
+ * to receive only the changes of that field. The SDK decodes a field only when it has changed and at least one listener subscribes to it.
+ *
+ * @param <V> The type of the state field.
+ */
+public class DisplayerStateKey<V> {
+
+    /**
+     * The state of the whiteboard tool currently in use. Reported by `Room` only. See {@link com.herewhite.sdk.domain.MemberState MemberState}.
+     */
+    public static final DisplayerStateKey<MemberState> MEMBER_STATE = new DisplayerStateKey<>("memberState", MemberState.class);
+
+    /**
+     * The state of the scenes under the current scene directory. See {@link com.herewhite.sdk.domain.SceneState SceneState}.
+     */
+    public static final DisplayerStateKey<SceneState> SCENE_STATE = new DisplayerStateKey<>("sceneState", SceneState.class);
+
+    /**
+     * The state of the view. See {@link com.herewhite.sdk.domain.CameraState CameraState}.
+     */
+    public static final DisplayerStateKey<CameraState> CAMERA_STATE = new DisplayerStateKey<>("cameraState", CameraState.class);
+
+    /**
+     * The view state of the local user. Reported by `Room` only. See {@link com.herewhite.sdk.domain.BroadcastState BroadcastState}.
+     */
+    public static final DisplayerStateKey<BroadcastState> BROADCAST_STATE = new DisplayerStateKey<>("broadcastState", BroadcastState.class);
+
+    /**
+     * The list of members in the room. See {@link com.herewhite.sdk.domain.RoomMember RoomMember}.
+     */
+    public static final DisplayerStateKey<RoomMember[]> ROOM_MEMBERS = new DisplayerStateKey<>("roomMembers", RoomMember[].class);
+
+    /**
+     * The global state of the room.
+     *
+     * The value is an instance of the class set by {@link com.herewhite.sdk.domain.WhiteDisplayerState#setCustomGlobalStateClass(Class) setCustomGlobalStateClass},
+     * decoded by the `TypeAdapter` registered with {@link com.herewhite.sdk.domain.WhiteDisplayerState#setCustomGlobalStateClass(Class, com.google.gson.TypeAdapter) setCustomGlobalStateClass} if any.
+     */
+    public static final DisplayerStateKey<GlobalState> GLOBAL_STATE = new DisplayerStateKey<GlobalState>("globalState", GlobalState.class) {
+        @Override
+        @SuppressWarnings("unchecked")
+        Class<? extends GlobalState> getValueClass() {
+            return (Class<? extends GlobalState>) WhiteDisplayerState.getCustomGlobalStateClass();
+        }
+
+        /**
+         * Like {@link WhiteDisplayerState#getGlobalState()}, logs and returns null when the custom class does not match the JSON,
+         * so that both {@link Room#getGlobalState()} and the listeners of this key keep working.
+         */
+        @Override
+        @SuppressWarnings("unchecked")
+        GlobalState read(SyncDisplayerState.Snapshot<?> snapshot) {
+            Class<GlobalState> valueClass = (Class<GlobalState>) getValueClass();
+            try {
+                return snapshot.getProperty(getName(), valueClass, WhiteDisplayerState.getCustomGlobalStateAdapter());
+            } catch (JsonSyntaxException e) {
+                Logger.error("An exception occurred while decoding the global state", e);
+                return null;
+            }
+        }
+    };
+
+    /**
+     * The mode for watching the whiteboard playback. Reported by `Player` only. See {@link com.herewhite.sdk.domain.PlayerObserverMode PlayerObserverMode}.
+     */
+    public static final DisplayerStateKey<PlayerObserverMode> OBSERVER_MODE = new DisplayerStateKey<>("observerMode", PlayerObserverMode.class);
+
+    private final String name;
+    private final Class<? extends V> valueClass;
+
+    private DisplayerStateKey(String name, Class<? extends V> valueClass) {
+        this.name = name;
+        this.valueClass = valueClass;
+    }
+
+    /**
+     * Gets the name of the state field.
+     *
+     * @return The name of the state field, for example, `"cameraState"`.
+     */
+    public String getName() {
+        return name;
+    }
+
+    Class<? extends V> getValueClass() {
+        return valueClass;
+    }
+
+    V read(SyncDisplayerState.Snapshot<?> snapshot) {
+        return snapshot.getProperty(name, getValueClass());
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
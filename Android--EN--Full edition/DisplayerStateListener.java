@@ -0,0 +1,15 @@
+package com.herewhite.sdk;
+
+/**
+ * The `DisplayerStateListener` interface, which reports changes of a single field of the room or player state.
+ *
+ * @param <V> The type of the state field. See {@link DisplayerStateKey DisplayerStateKey}.
+ */
+public interface DisplayerStateListener<V> {
+    /**
+     * Occurs when the subscribed state field changes.
+     *
+     * @param value The new value of the state field.
+     */
+    void onDisplayerStateChanged(V value);
+}
@@ -0,0 +1,50 @@
+package com.herewhite.sdk;
+
+import android.os.Build;
+import android.os.Handler;
+
+import com.herewhite.sdk.domain.Promise;
+import com.herewhite.sdk.domain.SDKError;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeoutException;
+
+import androidx.annotation.RequiresApi;
+
+/**
+ * Hidden in documentation
+ *
+ * A {@link Promise} that completes a {@link CompletableFuture}, or fails it with a {@link TimeoutException}
+ * if the whiteboard has not answered before the deadline.
+ * Once the future is done, whether by timeout or by cancellation, a late answer is ignored.
+ */
+@RequiresApi(api = Build.VERSION_CODES.N)
+final class FuturePromise<T> implements Promise<T> {
+
+    private final CompletableFuture<T> future = new CompletableFuture<>();
+
+    /**
+     * @param timeoutMillis The deadline in milliseconds, or 0 for none.
+     */
+    FuturePromise(Handler handler, final String method, final long timeoutMillis) {
+        if (timeoutMillis > 0) {
+            final Runnable timeout = () -> future.completeExceptionally(new TimeoutException(method + " did not return within " + timeoutMillis + " ms"));
+            handler.postDelayed(timeout, timeoutMillis);
+            future.whenComplete((value, throwable) -> handler.removeCallbacks(timeout));
+        }
+    }
+
+    CompletableFuture<T> getFuture() {
+        return future;
+    }
+
+    @Override
+    public void then(T t) {
+        future.complete(t);
+    }
+
+    @Override
+    public void catchEx(SDKError t) {
+        future.completeExceptionally(t);
+    }
+}
@@ -0,0 +1,110 @@
+package com.herewhite.sdk;
+
+/**
+ * The statistics of a high-frequency event channel.
+ * See {@link Displayer#getHighFrequencyChannelStats(String) getHighFrequencyChannelStats}.
+ */
+public final class HighFrequencyChannelStats {
+    private final String eventName;
+    private final long receivedCount;
+    private final long deliveredCount;
+    private final long droppedCount;
+    private final long coalescedCount;
+    private final long deliveryCount;
+    private final int maxPendingCount;
+    private final long elapsedMillis;
+
+    HighFrequencyChannelStats(String eventName, long receivedCount, long deliveredCount, long droppedCount, long coalescedCount,
+                              long deliveryCount, int maxPendingCount, long elapsedMillis) {
+        this.eventName = eventName;
+        this.receivedCount = receivedCount;
+        this.deliveredCount = deliveredCount;
+        this.droppedCount = droppedCount;
+        this.coalescedCount = coalescedCount;
+        this.deliveryCount = deliveryCount;
+        this.maxPendingCount = maxPendingCount;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    /**
+     * Gets the name of the event.
+     *
+     * @return The name of the event.
+     */
+    public String getEventName() {
+        return eventName;
+    }
+
+    /**
+     * Gets the number of events received from the whiteboard.
+     *
+     * @return The number of events.
+     */
+    public long getReceivedCount() {
+        return receivedCount;
+    }
+
+    /**
+     * Gets the number of events passed to the listeners.
+     *
+     * @return The number of events.
+     */
+    public long getDeliveredCount() {
+        return deliveredCount;
+    }
+
+    /**
+     * Gets the number of events dropped because the channel was full.
+     *
+     * @return The number of events.
+     */
+    public long getDroppedCount() {
+        return droppedCount;
+    }
+
+    /**
+     * Gets the number of events replaced by a later event of the same user.
+     * Only {@link HighFrequencyOverflowPolicy#COALESCE_BY_AUTHOR COALESCE_BY_AUTHOR} replaces events.
+     *
+     * @return The number of events.
+     */
+    public long getCoalescedCount() {
+        return coalescedCount;
+    }
+
+    /**
+     * Gets the number of times the listeners were called with the pending events.
+     *
+     * @return The number of deliveries.
+     */
+    public long getDeliveryCount() {
+        return deliveryCount;
+    }
+
+    /**
+     * Gets the largest number of events that were pending at the same time.
+     *
+     * @return The number of events.
+     */
+    public int getMaxPendingCount() {
+        return maxPendingCount;
+    }
+
+    /**
+     * Gets the time since the channel was opened.
+     *
+     * @return The time (ms).
+     */
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    /**
+     * Gets the average number of events passed to the listeners per second since the channel was opened.
+     *
+     * @return The number of events per second.
+     */
+    public double getDeliveredPerSecond() {
+        return elapsedMillis == 0 ? 0 : deliveredCount * 1000.0 / elapsedMillis;
+    }
+}
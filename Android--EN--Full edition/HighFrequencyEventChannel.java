@@ -0,0 +1,154 @@
+package com.herewhite.sdk;
+
+import com.herewhite.sdk.domain.EventEntry;
+
+import java.util.Arrays;
+import java.util.concurrent.Executor;
+
+/**
+ * Hidden in documentation
+ *
+ * Buffers the high-frequency events of one name in a fixed ring and hands them to the listeners on the main thread.
+ *
+ * The ring is allocated once and its slots are reused. While a delivery is pending, new events only go into the ring,
+ * so however fast the whiteboard fires, at most one task per channel waits on the main thread; what does not fit is dropped
+ * or coalesced according to the {@link HighFrequencyOverflowPolicy}. The arrays handed to the listeners are kept per size and reused
+ * once the listeners have returned from them, so a steady stream of deliveries allocates nothing.
+ */
+final class HighFrequencyEventChannel {
+
+    interface Deliverer {
+        /**
+         * Called on the main thread with the pending events, oldest first.
+         *
+         * @return Whether the listeners are done with the array, so that it can be reused for a later delivery.
+         */
+        boolean deliver(EventEntry[] eventEntries);
+    }
+
+    private final String eventName;
+    private final HighFrequencyOverflowPolicy policy;
+    private final Executor mainThread;
+    private final Deliverer deliverer;
+    private final long openedNanos = System.nanoTime();
+
+    /**
+     * Larger deliveries are rare, as the listeners usually keep up, so they are not worth holding on to an array for.
+     */
+    static final int MAX_REUSED_DELIVERY_SIZE = 64;
+
+    private final EventEntry[] ring;
+    /**
+     * The delivery arrays that are free for reuse, indexed by their length.
+     */
+    private final EventEntry[][] deliveryArrays;
+    private int head;
+    private int size;
+    private boolean scheduled;
+
+    private long receivedCount;
+    private long deliveredCount;
+    private long droppedCount;
+    private long coalescedCount;
+    private long deliveryCount;
+    private int maxPendingCount;
+
+    private final Runnable drainRunnable = this::drain;
+
+    HighFrequencyEventChannel(String eventName, int capacity, HighFrequencyOverflowPolicy policy, Executor mainThread, Deliverer deliverer) {
+        this.eventName = eventName;
+        this.policy = policy;
+        this.mainThread = mainThread;
+        this.deliverer = deliverer;
+        this.ring = new EventEntry[Math.max(1, capacity)];
+        this.deliveryArrays = new EventEntry[Math.min(ring.length, MAX_REUSED_DELIVERY_SIZE) + 1][];
+    }
+
+    void offer(EventEntry[] eventEntries) {
+        synchronized (this) {
+            for (EventEntry eventEntry : eventEntries) {
+                receivedCount++;
+                if (policy == HighFrequencyOverflowPolicy.COALESCE_BY_AUTHOR && replaceSameAuthor(eventEntry)) {
+                    coalescedCount++;
+                    continue;
+                }
+                if (size == ring.length) {
+                    ring[head] = null;
+                    head = (head + 1) % ring.length;
+                    size--;
+                    droppedCount++;
+                }
+                ring[(head + size) % ring.length] = eventEntry;
+                size++;
+            }
+            maxPendingCount = Math.max(maxPendingCount, size);
+            if (scheduled || size == 0) {
+                return;
+            }
+            scheduled = true;
+        }
+        mainThread.execute(drainRunnable);
+    }
+
+    /**
+     * The ring is small, so a linear scan is cheaper than keeping an index of the pending authors up to date.
+     */
+    private boolean replaceSameAuthor(EventEntry eventEntry) {
+        for (int i = 0; i < size; i++) {
+            int slot = (head + i) % ring.length;
+            if (ring[slot].getAuthorId() == eventEntry.getAuthorId()) {
+                ring[slot] = eventEntry;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Delivers the pending events right away. Must be called on the main thread.
+     */
+    void drain() {
+        EventEntry[] pending;
+        synchronized (this) {
+            scheduled = false;
+            if (size == 0) {
+                return;
+            }
+            pending = takeDeliveryArray(size);
+            for (int i = 0; i < size; i++) {
+                int slot = (head + i) % ring.length;
+                pending[i] = ring[slot];
+                ring[slot] = null;
+            }
+            head = 0;
+            size = 0;
+            deliveredCount += pending.length;
+            deliveryCount++;
+        }
+        if (deliverer.deliver(pending)) {
+            Arrays.fill(pending, null);
+            synchronized (this) {
+                if (pending.length < deliveryArrays.length) {
+                    deliveryArrays[pending.length] = pending;
+                }
+            }
+        }
+    }
+
+    /**
+     * Takes the free array of the size out of the cache, so that a delivery started by a listener does not get the array in use.
+     */
+    private EventEntry[] takeDeliveryArray(int size) {
+        if (size < deliveryArrays.length && deliveryArrays[size] != null) {
+            EventEntry[] array = deliveryArrays[size];
+            deliveryArrays[size] = null;
+            return array;
+        }
+        return new EventEntry[size];
+    }
+
+    synchronized HighFrequencyChannelStats getStats() {
+        return new HighFrequencyChannelStats(eventName, receivedCount, deliveredCount, droppedCount, coalescedCount,
+                deliveryCount, maxPendingCount, (System.nanoTime() - openedNanos) / 1000000);
+    }
+}
@@ -0,0 +1,18 @@
+package com.herewhite.sdk;
+
+/**
+ * What a high-frequency event channel keeps when events arrive faster than the listeners take them.
+ * See {@link Displayer#openHighFrequencyChannel(String, int, HighFrequencyOverflowPolicy) openHighFrequencyChannel}.
+ */
+public enum HighFrequencyOverflowPolicy {
+    /**
+     * Keeps every event until the channel is full, then drops the oldest pending event for each new one.
+     */
+    DROP_OLDEST,
+    /**
+     * Keeps only the latest pending event of each user, which suits events that carry a position, such as cursors.
+     * A new event from a user replaces the pending event of the same user in place. When the channel is full of events
+     * from different users, the oldest pending event is dropped.
+     */
+    COALESCE_BY_AUTHOR
+}
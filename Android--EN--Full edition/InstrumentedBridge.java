@@ -0,0 +1,71 @@
+package com.herewhite.sdk;
+
+import com.google.gson.Gson;
+import com.herewhite.sdk.domain.WhiteGson;
+
+import wendu.dsbridge.OnReturnValue;
+
+/**
+ * Hidden in documentation
+ *
+ * Records every call through the wrapped bridge, and the return value of every call that has a handler, in {@link BridgeMetrics}.
+ */
+final class InstrumentedBridge implements JsBridgeInterface {
+
+    private final static Gson gson = WhiteGson.get();
+
+    private final JsBridgeInterface bridge;
+    private final BridgeMetrics metrics;
+
+    InstrumentedBridge(JsBridgeInterface bridge, BridgeMetrics metrics) {
+        this.bridge = bridge;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public <T> void callHandler(final String method, Object[] args, final OnReturnValue<T> handler) {
+        int payloadSize = payloadSize(args);
+        final long start = System.nanoTime();
+        OnReturnValue<T> instrumentedHandler = null;
+        if (handler != null) {
+            instrumentedHandler = retValue -> {
+                metrics.record(BridgeMetrics.Kind.RETURN, method, System.nanoTime() - start, retValue == null ? 0 : String.valueOf(retValue).length());
+                handler.onValue(retValue);
+            };
+        }
+        bridge.callHandler(method, args, instrumentedHandler);
+        metrics.record(BridgeMetrics.Kind.CALL, method, System.nanoTime() - start, payloadSize);
+    }
+
+    @Override
+    public void callHandler(String method, Object[] args) {
+        this.callHandler(method, args, null);
+    }
+
+    @Override
+    public <T> void callHandler(String method, OnReturnValue<T> handler) {
+        this.callHandler(method, null, handler);
+    }
+
+    @Override
+    public void addJavascriptObject(Object object, String namespace) {
+        bridge.addJavascriptObject(object, namespace);
+    }
+
+    @Override
+    public void callFocusView() {
+        bridge.callFocusView();
+    }
+
+    private static int payloadSize(Object[] args) {
+        if (args == null || args.length == 0) {
+            return 0;
+        }
+        try {
+            return gson.toJson(args).length();
+        } catch (RuntimeException e) {
+            // Arguments that Gson cannot serialize still reach the bridge; they are just not measured.
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.herewhite.sdk;
+
+import com.herewhite.sdk.domain.EventEntry;
+import com.herewhite.sdk.domain.PlayerPhase;
+import com.herewhite.sdk.domain.SDKError;
+import com.herewhite.sdk.internal.PlayerDelegate;
+
+/**
+ * Hidden in documentation
+ *
+ * Records the calls from the whiteboard page to a {@link Player} in {@link BridgeMetrics}.
+ */
+final class InstrumentedPlayerDelegate implements PlayerDelegate {
+
+    private final PlayerDelegate delegate;
+    private final BridgeMetrics metrics;
+
+    InstrumentedPlayerDelegate(PlayerDelegate delegate, BridgeMetrics metrics) {
+        this.delegate = delegate;
+        this.metrics = metrics;
+    }
+
+    private void record(String method, long start, int payloadSize) {
+        metrics.record(BridgeMetrics.Kind.INBOUND, method, System.nanoTime() - start, payloadSize);
+    }
+
+    @Override
+    public void fireMagixEvent(EventEntry eventEntry) {
+        long start = System.nanoTime();
+        delegate.fireMagixEvent(eventEntry);
+        record("fireMagixEvent", start, 0);
+    }
+
+    @Override
+    public void fireHighFrequencyEvent(EventEntry[] eventEntries) {
+        long start = System.nanoTime();
+        delegate.fireHighFrequencyEvent(eventEntries);
+        record("fireHighFrequencyEvent", start, 0);
+    }
+
+    @Override
+    public void setPlayerPhase(PlayerPhase playerPhase) {
+        long start = System.nanoTime();
+        delegate.setPlayerPhase(playerPhase);
+        record("setPlayerPhase", start, 0);
+    }
+
+    @Override
+    public void onLoadFirstFrame() {
+        long start = System.nanoTime();
+        delegate.onLoadFirstFrame();
+        record("onLoadFirstFrame", start, 0);
+    }
+
+    @Override
+    public void onSliceChanged(String slice) {
+        long start = System.nanoTime();
+        delegate.onSliceChanged(slice);
+        record("onSliceChanged", start, 0);
+    }
+
+    @Override
+    public void syncDisplayerState(String stateJSON) {
+        long start = System.nanoTime();
+        delegate.syncDisplayerState(stateJSON);
+        record("syncDisplayerState", start, stateJSON == null ? 0 : stateJSON.length());
+    }
+
+    @Override
+    public void onStoppedWithError(SDKError error) {
+        long start = System.nanoTime();
+        delegate.onStoppedWithError(error);
+        record("onStoppedWithError", start, 0);
+    }
+
+    @Override
+    public void setScheduleTime(long scheduleTime) {
+        long start = System.nanoTime();
+        delegate.setScheduleTime(scheduleTime);
+        record("setScheduleTime", start, 0);
+    }
+
+    @Override
+    public void onCatchErrorWhenAppendFrame(SDKError error) {
+        long start = System.nanoTime();
+        delegate.onCatchErrorWhenAppendFrame(error);
+        record("onCatchErrorWhenAppendFrame", start, 0);
+    }
+
+    @Override
+    public void onCatchErrorWhenRender(SDKError error) {
+        long start = System.nanoTime();
+        delegate.onCatchErrorWhenRender(error);
+        record("onCatchErrorWhenRender", start, 0);
+    }
+}
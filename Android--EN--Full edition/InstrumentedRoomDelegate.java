@@ -0,0 +1,88 @@
+package com.herewhite.sdk;
+
+import com.herewhite.sdk.domain.EventEntry;
+import com.herewhite.sdk.domain.RoomPhase;
+import com.herewhite.sdk.internal.RoomDelegate;
+
+/**
+ * Hidden in documentation
+ *
+ * Records the calls from the whiteboard page to a {@link Room} in {@link BridgeMetrics}.
+ */
+final class InstrumentedRoomDelegate implements RoomDelegate {
+
+    private final RoomDelegate delegate;
+    private final BridgeMetrics metrics;
+
+    InstrumentedRoomDelegate(RoomDelegate delegate, BridgeMetrics metrics) {
+        this.delegate = delegate;
+        this.metrics = metrics;
+    }
+
+    private void record(String method, long start, int payloadSize) {
+        metrics.record(BridgeMetrics.Kind.INBOUND, method, System.nanoTime() - start, payloadSize);
+    }
+
+    @Override
+    public void fireMagixEvent(EventEntry eventEntry) {
+        long start = System.nanoTime();
+        delegate.fireMagixEvent(eventEntry);
+        record("fireMagixEvent", start, 0);
+    }
+
+    @Override
+    public void fireHighFrequencyEvent(EventEntry[] eventEntries) {
+        long start = System.nanoTime();
+        delegate.fireHighFrequencyEvent(eventEntries);
+        record("fireHighFrequencyEvent", start, 0);
+    }
+
+    @Override
+    public void firePhaseChanged(RoomPhase valueOf) {
+        long start = System.nanoTime();
+        delegate.firePhaseChanged(valueOf);
+        record("firePhaseChanged", start, 0);
+    }
+
+    @Override
+    public void fireCanUndoStepsUpdate(long canUndoSteps) {
+        long start = System.nanoTime();
+        delegate.fireCanUndoStepsUpdate(canUndoSteps);
+        record("fireCanUndoStepsUpdate", start, 0);
+    }
+
+    @Override
+    public void onCanRedoStepsUpdate(long canRedoSteps) {
+        long start = System.nanoTime();
+        delegate.onCanRedoStepsUpdate(canRedoSteps);
+        record("onCanRedoStepsUpdate", start, 0);
+    }
+
+    @Override
+    public void fireKickedWithReason(String reason) {
+        long start = System.nanoTime();
+        delegate.fireKickedWithReason(reason);
+        record("fireKickedWithReason", start, 0);
+    }
+
+    @Override
+    public void fireDisconnectWithError(Exception exception) {
+        long start = System.nanoTime();
+        delegate.fireDisconnectWithError(exception);
+        record("fireDisconnectWithError", start, 0);
+    }
+
+    @Override
+    public void fireCatchErrorWhenAppendFrame(long userId, Exception exception) {
+        long start = System.nanoTime();
+        delegate.fireCatchErrorWhenAppendFrame(userId, exception);
+        record("fireCatchErrorWhenAppendFrame", start, 0);
+    }
+
+    @Override
+    public void fireRoomStateChanged(String stateJSON) {
+        long start = System.nanoTime();
+        delegate.fireRoomStateChanged(stateJSON);
+        record("fireRoomStateChanged", start, stateJSON == null ? 0 : stateJSON.length());
+    }
+}
@@ -0,0 +1,196 @@
+package com.herewhite.sdk;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Map;
+
+/**
+ * Hidden in documentation
+ *
+ * A 64-bit structural hash of a JSON subtree. Two subtrees that {@link SyncDisplayerState} considers equal
+ * always have the same fingerprint: object entries are hashed independently of their order and numbers are
+ * hashed by their double value, matching {@link JsonPrimitive#equals(Object)}.
+ *
+ * Fingerprints are computed on the first comparison and cached per instance, so telling a subtree apart from a different one
+ * is O(1) once both have been hashed. Equal fingerprints are confirmed by walking both subtrees, so two equal but distinct subtrees
+ * still cost a full comparison; where it matters, keep equal subtrees as the same instance, as {@link StateJsonReader} does for
+ * the merge path. The cache holds the elements weakly.
+ */
+final class JsonFingerprint {
+
+    private static final long NULL_FINGERPRINT = 0x5bd1e9955bd1e995L;
+    private static final long TRUE_FINGERPRINT = 0x27d4eb2f165667c5L;
+    private static final long FALSE_FINGERPRINT = 0x165667b19e3779f9L;
+    private static final long ARRAY_SEED = 0x9e3779b97f4a7c15L;
+    private static final long OBJECT_SEED = 0xc2b2ae3d27d4eb4fL;
+    private static final long STRING_SEED = 0xcbf29ce484222325L;
+    private static final long PRIME = 0x100000001b3L;
+
+    private static final Cache cache = new Cache();
+
+    private JsonFingerprint() {
+    }
+
+    /**
+     * Returns whether two subtrees are structurally equal.
+     *
+     * Identical instances are equal without hashing. Otherwise the cached fingerprints are compared first,
+     * so two different subtrees are told apart without walking them again. Matching fingerprints are confirmed
+     * with {@link JsonElement#equals(Object)}, since distinct trees can share a 64-bit fingerprint and a change
+     * reported as equal would be lost.
+     */
+    static boolean equal(JsonElement json1, JsonElement json2) {
+        if (json1 == json2) {
+            return true;
+        }
+        if (json1 == null || json2 == null) {
+            return false;
+        }
+        return of(json1) == of(json2) && json1.equals(json2);
+    }
+
+    static long of(JsonElement element) {
+        if (element == null || element.isJsonNull()) {
+            return NULL_FINGERPRINT;
+        }
+        if (element.isJsonPrimitive()) {
+            return ofPrimitive(element.getAsJsonPrimitive());
+        }
+        Long cached = cache.get(element);
+        if (cached != null) {
+            return cached;
+        }
+        long fingerprint = element.isJsonArray() ? ofArray(element.getAsJsonArray()) : ofObject(element.getAsJsonObject());
+        cache.put(element, fingerprint);
+        return fingerprint;
+    }
+
+    private static long ofArray(JsonArray array) {
+        long hash = ARRAY_SEED;
+        for (JsonElement element : array) {
+            hash = (hash ^ of(element)) * PRIME;
+        }
+        return mix(hash + array.size());
+    }
+
+    private static long ofObject(JsonObject object) {
+        long hash = OBJECT_SEED;
+        for (Map.Entry<String, JsonElement> entry : object.entrySet()) {
+            hash += mix(ofString(entry.getKey()) ^ (of(entry.getValue()) * PRIME));
+        }
+        return mix(hash + object.size());
+    }
+
+    private static long ofPrimitive(JsonPrimitive primitive) {
+        if (primitive.isBoolean()) {
+            return primitive.getAsBoolean() ? TRUE_FINGERPRINT : FALSE_FINGERPRINT;
+        }
+        if (primitive.isNumber()) {
+            double value = primitive.getAsNumber().doubleValue();
+            if (value == 0d) {
+                value = 0d;
+            }
+            return mix(Double.doubleToLongBits(value));
+        }
+        return mix(ofString(primitive.getAsString()));
+    }
+
+    private static long ofString(String string) {
+        long hash = STRING_SEED;
+        for (int i = 0; i < string.length(); i++) {
+            hash = (hash ^ string.charAt(i)) * PRIME;
+        }
+        return hash;
+    }
+
+    private static long mix(long hash) {
+        hash = (hash ^ (hash >>> 30)) * 0xbf58476d1ce4e5b9L;
+        hash = (hash ^ (hash >>> 27)) * 0x94d049bb133111ebL;
+        return hash ^ (hash >>> 31);
+    }
+
+    /**
+     * A small identity map with weak keys; JsonElement#hashCode walks the whole tree, so WeakHashMap does not fit.
+     */
+    private static final class Cache {
+        private final ReferenceQueue<JsonElement> queue = new ReferenceQueue<>();
+        private Entry[] table = new Entry[256];
+        private int size;
+
+        /**
+         * Stale entries never match, so only {@link #put} clears them out.
+         */
+        synchronized Long get(JsonElement element) {
+            int hash = System.identityHashCode(element);
+            for (Entry entry = table[hash & (table.length - 1)]; entry != null; entry = entry.next) {
+                if (entry.get() == element) {
+                    return entry.fingerprint;
+                }
+            }
+            return null;
+        }
+
+        synchronized void put(JsonElement element, long fingerprint) {
+            expungeStaleEntries();
+            if (size >= table.length * 3 / 4) {
+                resize();
+            }
+            int hash = System.identityHashCode(element);
+            int index = hash & (table.length - 1);
+            table[index] = new Entry(element, queue, hash, fingerprint, table[index]);
+            size++;
+        }
+
+        private void resize() {
+            Entry[] newTable = new Entry[table.length * 2];
+            for (Entry head : table) {
+                for (Entry entry = head; entry != null; ) {
+                    Entry next = entry.next;
+                    int index = entry.hash & (newTable.length - 1);
+                    entry.next = newTable[index];
+                    newTable[index] = entry;
+                    entry = next;
+                }
+            }
+            table = newTable;
+        }
+
+        private void expungeStaleEntries() {
+            Object stale;
+            while ((stale = queue.poll()) != null) {
+                Entry staleEntry = (Entry) stale;
+                int index = staleEntry.hash & (table.length - 1);
+                Entry previous = null;
+                for (Entry entry = table[index]; entry != null; previous = entry, entry = entry.next) {
+                    if (entry == staleEntry) {
+                        if (previous == null) {
+                            table[index] = entry.next;
+                        } else {
+                            previous.next = entry.next;
+                        }
+                        size--;
+                        break;
+                    }
+                }
+            }
+        }
+    }
+
+    private static final class Entry extends WeakReference<JsonElement> {
+        final int hash;
+        final long fingerprint;
+        Entry next;
+
+        Entry(JsonElement element, ReferenceQueue<JsonElement> queue, int hash, long fingerprint, Entry next) {
+            super(element, queue);
+            this.hash = hash;
+            this.fingerprint = fingerprint;
+            this.next = next;
+        }
+    }
+}
@@ -0,0 +1,335 @@
+package com.herewhite.sdk;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import com.herewhite.sdk.domain.Scene;
+import com.herewhite.sdk.internal.Logger;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import wendu.dsbridge.OnReturnValue;
+
+/**
+ * Hidden in documentation
+ *
+ * Sends calls to the JS side through the {@link BridgeLane} of their method while enabled.
+ *
+ * Interactive calls go straight to the bridge. Normal and bulk calls share one FIFO queue, so their relative order is kept;
+ * the queue stops behind a bulk call until the JS side has returned from it, which leaves the WebView free for interactive calls
+ * in between. A {@code putScenes} call with many scenes is split into calls of {@link #PUT_SCENES_CHUNK_SIZE} scenes, and the handler
+ * of the call gets one return value once all of them have returned: the first error, or else the value of the last call.
+ *
+ * A {@link BatchingBridge#BATCH_METHOD batch} goes through the lane of its calls: the interactive lane if all of them are interactive,
+ * otherwise the bulk lane if any of them is bulk, and the normal lane for the rest, so the calls it carries keep their order.
+ */
+final class LaneBridge implements JsBridgeInterface {
+
+    static final int PUT_SCENES_CHUNK_SIZE = 20;
+    /**
+     * A bulk call whose return value has not arrived by then, for example because the page was reloaded, no longer holds up the queue.
+     */
+    static final long BULK_STALL_MILLIS = 5000;
+
+    private static final Set<String> INTERACTIVE_METHODS = new HashSet<>(Arrays.asList(
+            "displayer.moveCamera",
+            "displayer.moveCameraToContain",
+            "room.setMemberState",
+            "room.undo",
+            "room.redo",
+            "room.dispatchMagixEvent"
+    ));
+
+    private static final Set<String> BULK_METHODS = new HashSet<>(Arrays.asList(
+            "room.putScenes",
+            "displayer.entireScenes",
+            "displayerAsync.scenePreview",
+            "displayerAsync.sceneSnapshot"
+    ));
+
+    private final JsBridgeInterface bridge;
+    private final EnumMap<BridgeLane, LaneRecorder> recorders = new EnumMap<>(BridgeLane.class);
+
+    private volatile boolean enabled;
+    /**
+     * The queued calls plus the bulk call in flight; calls keep going through the queue until it is empty, even after disabling.
+     */
+    private volatile int pending;
+
+    private final ArrayDeque<Task> queue = new ArrayDeque<>();
+    private Task inFlight;
+    private boolean draining;
+    private Handler handler;
+
+    LaneBridge(JsBridgeInterface bridge) {
+        this.bridge = bridge;
+        for (BridgeLane lane : BridgeLane.values()) {
+            recorders.put(lane, new LaneRecorder());
+        }
+    }
+
+    private static final class Task {
+        final BridgeLane lane;
+        final String method;
+        final Object[] args;
+        final OnReturnValue<Object> handler;
+        final long enqueuedNanos;
+        Runnable stallTimeout;
+
+        Task(BridgeLane lane, String method, Object[] args, OnReturnValue<Object> handler, long enqueuedNanos) {
+            this.lane = lane;
+            this.method = method;
+            this.args = args;
+            this.handler = handler;
+            this.enqueuedNanos = enqueuedNanos;
+        }
+    }
+
+    private static final class LaneRecorder {
+        private final AtomicLong count = new AtomicLong();
+        private final AtomicLong totalWaitNanos = new AtomicLong();
+        private final AtomicLong maxWaitNanos = new AtomicLong();
+        private int queueDepth;
+        private int maxQueueDepth;
+
+        void sent(long waitNanos) {
+            count.incrementAndGet();
+            totalWaitNanos.addAndGet(waitNanos);
+            long max = maxWaitNanos.get();
+            while (waitNanos > max && !maxWaitNanos.compareAndSet(max, waitNanos)) {
+                max = maxWaitNanos.get();
+            }
+        }
+    }
+
+    static BridgeLane laneOf(String method) {
+        if (INTERACTIVE_METHODS.contains(method)) {
+            return BridgeLane.INTERACTIVE;
+        }
+        if (BULK_METHODS.contains(method)) {
+            return BridgeLane.BULK;
+        }
+        return BridgeLane.NORMAL;
+    }
+
+    static BridgeLane laneOf(String method, Object[] args) {
+        if (!BatchingBridge.BATCH_METHOD.equals(method)) {
+            return laneOf(method);
+        }
+        if (args == null || args.length == 0 || !(args[0] instanceof List)) {
+            return BridgeLane.NORMAL;
+        }
+        boolean interactive = true;
+        boolean bulk = false;
+        for (Object call : (List<?>) args[0]) {
+            BridgeLane lane = call instanceof Map ? laneOf(String.valueOf(((Map<?, ?>) call).get("method"))) : BridgeLane.NORMAL;
+            interactive &= lane == BridgeLane.INTERACTIVE;
+            bulk |= lane == BridgeLane.BULK;
+        }
+        if (interactive) {
+            return BridgeLane.INTERACTIVE;
+        }
+        return bulk ? BridgeLane.BULK : BridgeLane.NORMAL;
+    }
+
+    void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    synchronized BridgeLaneStats getStats(BridgeLane lane) {
+        LaneRecorder recorder = recorders.get(lane);
+        return new BridgeLaneStats(lane, recorder.queueDepth, recorder.maxQueueDepth,
+                recorder.count.get(), recorder.totalWaitNanos.get(), recorder.maxWaitNanos.get());
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> void callHandler(String method, Object[] args, OnReturnValue<T> handler) {
+        if (!enabled && pending == 0) {
+            bridge.callHandler(method, args, handler);
+            return;
+        }
+        BridgeLane lane = enabled ? laneOf(method, args) : BridgeLane.NORMAL;
+        if (lane == BridgeLane.INTERACTIVE) {
+            recorders.get(lane).sent(0);
+            bridge.callHandler(method, args, handler);
+            return;
+        }
+        long now = System.nanoTime();
+        synchronized (this) {
+            if (lane == BridgeLane.BULK && "room.putScenes".equals(method) && isLargePutScenes(args)) {
+                Scene[] scenes = (Scene[]) args[1];
+                int index = ((Number) args[2]).intValue();
+                int chunkCount = (scenes.length + PUT_SCENES_CHUNK_SIZE - 1) / PUT_SCENES_CHUNK_SIZE;
+                OnReturnValue<Object> chunkHandler = handler == null ? null : new ChunkReturnValue(chunkCount, (OnReturnValue<Object>) handler);
+                for (int from = 0; from < scenes.length; from += PUT_SCENES_CHUNK_SIZE) {
+                    int to = Math.min(from + PUT_SCENES_CHUNK_SIZE, scenes.length);
+                    // An index past the end, such as Integer.MAX_VALUE, appends; keep it as is instead of letting it overflow.
+                    int chunkIndex = index > Integer.MAX_VALUE - from ? index : index + from;
+                    Object[] chunkArgs = {args[0], Arrays.copyOfRange(scenes, from, to), chunkIndex};
+                    enqueue(new Task(lane, method, chunkArgs, chunkHandler, now));
+                }
+            } else {
+                enqueue(new Task(lane, method, args, (OnReturnValue<Object>) handler, now));
+            }
+        }
+        drain();
+    }
+
+    @Override
+    public void callHandler(String method, Object[] args) {
+        this.callHandler(method, args, null);
+    }
+
+    @Override
+    public <T> void callHandler(String method, OnReturnValue<T> handler) {
+        this.callHandler(method, null, handler);
+    }
+
+    @Override
+    public void addJavascriptObject(Object object, String namespace) {
+        bridge.addJavascriptObject(object, namespace);
+    }
+
+    @Override
+    public void callFocusView() {
+        bridge.callFocusView();
+    }
+
+    private static boolean isLargePutScenes(Object[] args) {
+        return args != null && args.length == 3 && args[1] instanceof Scene[] && args[2] instanceof Number
+                && ((Scene[]) args[1]).length > PUT_SCENES_CHUNK_SIZE;
+    }
+
+    /**
+     * Collects the return values of the chunks of a split call and passes one of them on after the last chunk has returned.
+     */
+    private static final class ChunkReturnValue implements OnReturnValue<Object> {
+        private final OnReturnValue<Object> handler;
+        private int remaining;
+        private Object firstError;
+
+        ChunkReturnValue(int chunkCount, OnReturnValue<Object> handler) {
+            this.remaining = chunkCount;
+            this.handler = handler;
+        }
+
+        @Override
+        public void onValue(Object retValue) {
+            Object result;
+            synchronized (this) {
+                if (firstError == null && isError(retValue)) {
+                    firstError = retValue;
+                }
+                if (--remaining > 0) {
+                    return;
+                }
+                result = firstError != null ? firstError : retValue;
+            }
+            handler.onValue(result);
+        }
+
+        private static boolean isError(Object retValue) {
+            if (retValue == null || retValue instanceof Number || retValue instanceof Boolean) {
+                return false;
+            }
+            try {
+                JsonElement element = new JsonParser().parse(retValue.toString());
+                return element.isJsonObject() && element.getAsJsonObject().has("__error");
+            } catch (JsonParseException e) {
+                return false;
+            }
+        }
+    }
+
+    private void enqueue(Task task) {
+        queue.add(task);
+        pending++;
+        LaneRecorder recorder = recorders.get(task.lane);
+        recorder.queueDepth++;
+        recorder.maxQueueDepth = Math.max(recorder.maxQueueDepth, recorder.queueDepth);
+    }
+
+    /**
+     * Sends queued calls until the queue is empty or a bulk call is in flight. Only one thread drains at a time, which keeps the order.
+     */
+    private void drain() {
+        synchronized (this) {
+            if (draining) {
+                return;
+            }
+            draining = true;
+        }
+        while (true) {
+            Task task;
+            synchronized (this) {
+                if (inFlight != null || queue.isEmpty()) {
+                    draining = false;
+                    return;
+                }
+                task = queue.poll();
+                recorders.get(task.lane).queueDepth--;
+                if (task.lane == BridgeLane.BULK) {
+                    inFlight = task;
+                } else {
+                    pending--;
+                }
+            }
+            recorders.get(task.lane).sent(System.nanoTime() - task.enqueuedNanos);
+            if (task.lane == BridgeLane.BULK) {
+                sendBulk(task);
+            } else {
+                bridge.callHandler(task.method, task.args, task.handler);
+            }
+        }
+    }
+
+    private void sendBulk(final Task task) {
+        task.stallTimeout = () -> {
+            Logger.error(task.method + " did not return within " + BULK_STALL_MILLIS + " ms, sending the next calls", null);
+            complete(task);
+        };
+        getHandler().postDelayed(task.stallTimeout, BULK_STALL_MILLIS);
+        bridge.callHandler(task.method, task.args, new OnReturnValue<Object>() {
+            @Override
+            public void onValue(Object retValue) {
+                try {
+                    if (task.handler != null) {
+                        task.handler.onValue(retValue);
+                    }
+                } finally {
+                    complete(task);
+                }
+            }
+        });
+    }
+
+    private void complete(Task task) {
+        synchronized (this) {
+            if (inFlight != task) {
+                return;
+            }
+            inFlight = null;
+            pending--;
+        }
+        getHandler().removeCallbacks(task.stallTimeout);
+        drain();
+    }
+
+    private synchronized Handler getHandler() {
+        if (handler == null) {
+            handler = new Handler(Looper.getMainLooper());
+        }
+        return handler;
+    }
+}
@@ -0,0 +1,66 @@
+package com.herewhite.sdk;
+
+/**
+ * The statistics of sending customized events in batches. See {@link Room#setMagixEventBatching(int, long) setMagixEventBatching}.
+ */
+public final class MagixEventBatchStats {
+    private final long batchCount;
+    private final long eventCount;
+    private final long maxBatchSize;
+    private final long savedCallCount;
+
+    MagixEventBatchStats(long batchCount, long eventCount, long maxBatchSize, long savedCallCount) {
+        this.batchCount = batchCount;
+        this.eventCount = eventCount;
+        this.maxBatchSize = maxBatchSize;
+        this.savedCallCount = savedCallCount;
+    }
+
+    /**
+     * Gets the number of batches sent.
+     *
+     * @return The number of batches.
+     */
+    public long getBatchCount() {
+        return batchCount;
+    }
+
+    /**
+     * Gets the number of events sent in batches.
+     *
+     * @return The number of events.
+     */
+    public long getEventCount() {
+        return eventCount;
+    }
+
+    /**
+     * Gets the largest number of events sent in one batch.
+     *
+     * @return The number of events.
+     */
+    public long getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    /**
+     * Gets the average number of events in a batch.
+     *
+     * @return The average number of events, or 0 if no batch has been sent.
+     */
+    public double getAverageBatchSize() {
+        return batchCount == 0 ? 0 : (double) eventCount / batchCount;
+    }
+
+    /**
+     * Gets the number of calls to the whiteboard saved by sending the events in batches.
+     *
+     * A batch sent in one call saves one call less than its number of events. A batch sent one event at a time saves none,
+     * which is the case with a whiteboard page that does not support batches, or before the SDK knows whether it does.
+     *
+     * @return The number of calls saved.
+     */
+    public long getSavedCallCount() {
+        return savedCallCount;
+    }
+}
@@ -0,0 +1,93 @@
+package com.herewhite.sdk;
+
+import android.os.Handler;
+
+import com.herewhite.sdk.domain.AkkoEvent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hidden in documentation
+ *
+ * Collects outgoing customized events and hands them to the sender in batches, when the batch is full, when the time window
+ * since the first event of the batch has passed, or when {@link #flush()} is called.
+ * All events go through one queue, so they are sent in the order they were dispatched.
+ */
+final class MagixEventBatcher {
+
+    interface Sender {
+        /**
+         * @return Whether the events have gone out to the whiteboard as one call.
+         */
+        boolean send(List<AkkoEvent> events);
+    }
+
+    private final Handler handler;
+    private final int maxBatchSize;
+    private final long windowMillis;
+    private final Sender sender;
+
+    private final Object sendLock = new Object();
+    private List<AkkoEvent> pending = new ArrayList<>();
+
+    private final AtomicLong batchCount = new AtomicLong();
+    private final AtomicLong eventCount = new AtomicLong();
+    private final AtomicLong maxBatchSizeSeen = new AtomicLong();
+    private final AtomicLong savedCallCount = new AtomicLong();
+
+    private final Runnable flushRunnable = this::flush;
+
+    MagixEventBatcher(Handler handler, int maxBatchSize, long windowMillis, Sender sender) {
+        this.handler = handler;
+        this.maxBatchSize = maxBatchSize;
+        this.windowMillis = windowMillis;
+        this.sender = sender;
+    }
+
+    void offer(AkkoEvent event) {
+        boolean full;
+        synchronized (this) {
+            pending.add(event);
+            full = pending.size() >= maxBatchSize;
+            // Posting and removing the timer under the lock keeps it tied to the batch it was posted for.
+            if (!full && pending.size() == 1) {
+                handler.postDelayed(flushRunnable, windowMillis);
+            }
+        }
+        if (full) {
+            flush();
+        }
+    }
+
+    /**
+     * Sends the pending events on the calling thread. Batches are sent one at a time, so a later batch never overtakes an earlier one.
+     */
+    void flush() {
+        synchronized (sendLock) {
+            List<AkkoEvent> batch;
+            synchronized (this) {
+                if (pending.isEmpty()) {
+                    return;
+                }
+                handler.removeCallbacks(flushRunnable);
+                batch = pending;
+                pending = new ArrayList<>();
+            }
+            batchCount.incrementAndGet();
+            eventCount.addAndGet(batch.size());
+            long max = maxBatchSizeSeen.get();
+            while (batch.size() > max && !maxBatchSizeSeen.compareAndSet(max, batch.size())) {
+                max = maxBatchSizeSeen.get();
+            }
+            if (sender.send(batch)) {
+                savedCallCount.addAndGet(batch.size() - 1);
+            }
+        }
+    }
+
+    MagixEventBatchStats getStats() {
+        return new MagixEventBatchStats(batchCount.get(), eventCount.get(), maxBatchSizeSeen.get(), savedCallCount.get());
+    }
+}
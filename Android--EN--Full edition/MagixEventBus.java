@@ -0,0 +1,160 @@
+package com.herewhite.sdk;
+
+import com.herewhite.sdk.domain.EventEntry;
+import com.herewhite.sdk.internal.Logger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+
+import androidx.annotation.Nullable;
+
+/**
+ * Hidden in documentation
+ *
+ * Holds any number of listeners per event name, each with the executor it runs on.
+ *
+ * The listeners of a name are kept in a copy-on-write list, so dispatching takes no lock and a listener may add or remove
+ * listeners while it runs. Adding and removing go through the atomic updates of the map, so a list is never changed after
+ * it has been taken out of the map. The listeners on {@link MagixEventExecutors#MAIN_THREAD} are run together in one post to the main thread.
+ * A listener with a {@link MagixEventFilter} gets only the events whose header matches it; when no listener matches, nothing is posted.
+ */
+final class MagixEventBus<L> {
+
+    interface Dispatcher<L, E> {
+        void dispatch(L listener, E event);
+    }
+
+    private static final class Registration<L> {
+        final L listener;
+        final Executor executor;
+        @Nullable
+        final MagixEventFilter filter;
+
+        Registration(L listener, Executor executor, @Nullable MagixEventFilter filter) {
+            this.listener = listener;
+            this.executor = executor;
+            this.filter = filter;
+        }
+    }
+
+    private final ConcurrentHashMap<String, CopyOnWriteArrayList<Registration<L>>> registrations = new ConcurrentHashMap<>();
+    private final Executor mainThread;
+
+    /**
+     * @param mainThread Runs the listeners registered with {@link MagixEventExecutors#MAIN_THREAD}.
+     */
+    MagixEventBus(Executor mainThread) {
+        this.mainThread = mainThread;
+    }
+
+    /**
+     * Adds a listener, unless the same listener is already registered for the name.
+     */
+    void add(String eventName, L listener, Executor executor) {
+        add(eventName, listener, executor, null);
+    }
+
+    void add(String eventName, L listener, Executor executor, @Nullable MagixEventFilter filter) {
+        registrations.compute(eventName, (name, list) -> {
+            if (list == null) {
+                list = new CopyOnWriteArrayList<>();
+            }
+            for (Registration<L> registration : list) {
+                if (registration.listener == listener) {
+                    return list;
+                }
+            }
+            list.add(new Registration<>(listener, executor, filter));
+            return list;
+        });
+    }
+
+    /**
+     * Removes a listener, and the list of the name once it is empty.
+     */
+    void remove(String eventName, L listener) {
+        registrations.computeIfPresent(eventName, (name, list) -> {
+            for (Registration<L> registration : list) {
+                if (registration.listener == listener) {
+                    list.remove(registration);
+                    break;
+                }
+            }
+            return list.isEmpty() ? null : list;
+        });
+    }
+
+    void removeAll(String eventName) {
+        registrations.remove(eventName);
+    }
+
+    boolean hasListeners(String eventName) {
+        CopyOnWriteArrayList<Registration<L>> list = registrations.get(eventName);
+        return list != null && !list.isEmpty();
+    }
+
+    <E> void dispatch(String eventName, final E event, final Dispatcher<L, E> dispatcher) {
+        dispatch(eventName, event, dispatcher, false);
+    }
+
+    /**
+     * @param onMainThread Whether the caller is already on the main thread, in which case the main thread listeners run right away.
+     */
+    <E> boolean dispatch(String eventName, final E event, final Dispatcher<L, E> dispatcher, boolean onMainThread) {
+        return dispatch(eventName, null, event, dispatcher, onMainThread);
+    }
+
+    /**
+     * @param header The event that the filters of the listeners are matched against, or {@code null} to call every listener.
+     * @return Whether every listener that gets the event has returned by now, so that the caller may reuse the event.
+     */
+    <E> boolean dispatch(String eventName, @Nullable EventEntry header, final E event, final Dispatcher<L, E> dispatcher, boolean onMainThread) {
+        CopyOnWriteArrayList<Registration<L>> list = registrations.get(eventName);
+        if (list == null) {
+            return true;
+        }
+        boolean returned = true;
+        List<L> mainThreadListeners = null;
+        for (final Registration<L> registration : list) {
+            if (header != null && registration.filter != null && !registration.filter.matches(header)) {
+                continue;
+            }
+            if (registration.executor == MagixEventExecutors.MAIN_THREAD) {
+                if (mainThreadListeners == null) {
+                    mainThreadListeners = new ArrayList<>(list.size());
+                }
+                mainThreadListeners.add(registration.listener);
+            } else {
+                returned = false;
+                registration.executor.execute(() -> deliver(registration.listener, event, dispatcher));
+            }
+        }
+        if (mainThreadListeners != null && onMainThread) {
+            for (L listener : mainThreadListeners) {
+                deliver(listener, event, dispatcher);
+            }
+        } else if (mainThreadListeners != null) {
+            returned = false;
+            final List<L> listeners = mainThreadListeners;
+            mainThread.execute(() -> {
+                for (L listener : listeners) {
+                    deliver(listener, event, dispatcher);
+                }
+            });
+        }
+        return returned;
+    }
+
+    private static <L, E> void deliver(L listener, E event, Dispatcher<L, E> dispatcher) {
+        try {
+            dispatcher.dispatch(listener, event);
+        } catch (AssertionError a) {
+            throw a;
+        } catch (Throwable e) {
+            Logger.error("An exception occurred in a customized event listener", e);
+        }
+    }
+}
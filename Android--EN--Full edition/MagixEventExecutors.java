@@ -0,0 +1,44 @@
+package com.herewhite.sdk;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import java.util.concurrent.Executor;
+
+/**
+ * The executors that a customized event listener can run on. See {@link Displayer#addMagixEventListener(String, com.herewhite.sdk.domain.EventListener, Executor) addMagixEventListener}.
+ *
+ * Besides these, a listener can run on any `Executor` of your own, for example a thread pool for listeners that do heavy work.
+ */
+public final class MagixEventExecutors {
+
+    private MagixEventExecutors() {
+    }
+
+    /**
+     * Runs the listener on the main thread. This is the default.
+     */
+    public static final Executor MAIN_THREAD = new Executor() {
+        // Created on first use, so that the SDK can load this class without a main Looper, for example on a plain JVM.
+        private Handler handler;
+
+        @Override
+        public void execute(Runnable command) {
+            getHandler().post(command);
+        }
+
+        private synchronized Handler getHandler() {
+            if (handler == null) {
+                handler = new Handler(Looper.getMainLooper());
+            }
+            return handler;
+        }
+    };
+
+    /**
+     * Runs the listener on the thread that receives the event from the whiteboard, which is a background thread of the WebView.
+     *
+     * The listener gets the event with the least delay, but it must return quickly and must not touch the UI.
+     */
+    public static final Executor INLINE = Runnable::run;
+}
@@ -0,0 +1,85 @@
+package com.herewhite.sdk;
+
+import com.herewhite.sdk.domain.EventEntry;
+
+import java.util.Arrays;
+
+import androidx.annotation.Nullable;
+
+/**
+ * The `MagixEventFilter` class, which limits the customized events that a listener receives.
+ * See {@link Displayer#addMagixEventListener(String, com.herewhite.sdk.domain.EventListener, MagixEventFilter) addMagixEventListener}.
+ *
+ * The SDK matches the filter against the name, scope and sender of the event before it calls the listener.
+ * The content of an event is decoded only when a listener reads it with {@link EventEntry#getPayload() getPayload},
+ * so the events that no filter lets through are never decoded.
+ */
+public final class MagixEventFilter {
+    @Nullable
+    private final String scope;
+    @Nullable
+    private final long[] authorIds;
+
+    /**
+     * Creates a filter.
+     *
+     * @param scope     The scope of the events to receive, or `null` to receive events of any scope.
+     * @param authorIds The user IDs of the senders whose events to receive, or `null` to receive events from any user.
+     */
+    public MagixEventFilter(@Nullable String scope, @Nullable long... authorIds) {
+        this.scope = scope;
+        if (authorIds == null) {
+            this.authorIds = null;
+        } else {
+            this.authorIds = authorIds.clone();
+            Arrays.sort(this.authorIds);
+        }
+    }
+
+    /**
+     * Creates a filter that lets through only the events sent by the specified users, for example the broadcaster.
+     *
+     * @param authorIds The user IDs of the senders.
+     * @return The filter.
+     */
+    public static MagixEventFilter fromAuthors(long... authorIds) {
+        return new MagixEventFilter(null, authorIds);
+    }
+
+    /**
+     * Creates a filter that lets through only the events of the specified scope.
+     *
+     * @param scope The scope of the events.
+     * @return The filter.
+     */
+    public static MagixEventFilter inScope(String scope) {
+        return new MagixEventFilter(scope, (long[]) null);
+    }
+
+    /**
+     * Gets the scope of the events the filter lets through.
+     *
+     * @return The scope, or `null` for any scope.
+     */
+    @Nullable
+    public String getScope() {
+        return scope;
+    }
+
+    /**
+     * Gets the user IDs of the senders whose events the filter lets through.
+     *
+     * @return The user IDs in ascending order, or `null` for any user.
+     */
+    @Nullable
+    public long[] getAuthorIds() {
+        return authorIds == null ? null : authorIds.clone();
+    }
+
+    boolean matches(EventEntry eventEntry) {
+        if (scope != null && !scope.equals(eventEntry.getScope())) {
+            return false;
+        }
+        return authorIds == null || Arrays.binarySearch(authorIds, eventEntry.getAuthorId()) >= 0;
+    }
+}
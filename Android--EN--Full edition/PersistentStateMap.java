@@ -0,0 +1,239 @@
+package com.herewhite.sdk;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+
+import java.util.Map;
+
+/**
+ * Hidden in documentation
+ *
+ * An immutable map from the top-level state keys to their JSON values, stored as a hash array mapped trie.
+ * {@link #put(String, JsonElement)} returns a new map that shares every untouched node with the old one,
+ * so an update costs O(log n) and the old map stays valid for whoever still holds it.
+ * Keys cannot be removed; the displayer state never drops a key once it has been reported.
+ */
+final class PersistentStateMap {
+
+    static final PersistentStateMap EMPTY = new PersistentStateMap(BitmapNode.EMPTY, 0);
+
+    interface Visitor {
+        void visit(String key, JsonElement value);
+    }
+
+    private final Node root;
+    private final int size;
+
+    private PersistentStateMap(Node root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    static PersistentStateMap of(JsonObject jsonObject) {
+        PersistentStateMap map = EMPTY;
+        for (Map.Entry<String, JsonElement> entry : jsonObject.entrySet()) {
+            map = map.put(entry.getKey(), entry.getValue());
+        }
+        return map;
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean containsKey(String key) {
+        return get(key) != null;
+    }
+
+    JsonElement get(String key) {
+        return root.get(key, key.hashCode(), 0);
+    }
+
+    /**
+     * @return this map if it already holds {@code value} itself under {@code key}.
+     */
+    PersistentStateMap put(String key, JsonElement value) {
+        boolean[] added = new boolean[1];
+        Node newRoot = root.put(key, key.hashCode(), 0, value, added);
+        if (newRoot == root) {
+            return this;
+        }
+        return new PersistentStateMap(newRoot, added[0] ? size + 1 : size);
+    }
+
+    /**
+     * @return a map with the entries of both maps; the entries of {@code other} win.
+     */
+    PersistentStateMap putAll(PersistentStateMap other) {
+        if (size == 0) {
+            return other;
+        }
+        PersistentStateMap[] result = {this};
+        other.forEach((key, value) -> result[0] = result[0].put(key, value));
+        return result[0];
+    }
+
+    void forEach(Visitor visitor) {
+        root.forEach(visitor);
+    }
+
+    JsonObject toJsonObject() {
+        JsonObject jsonObject = new JsonObject();
+        forEach(jsonObject::add);
+        return jsonObject;
+    }
+
+    private interface Node {
+        JsonElement get(String key, int hash, int shift);
+
+        Node put(String key, int hash, int shift, JsonElement value, boolean[] added);
+
+        void forEach(Visitor visitor);
+    }
+
+    private static int bitFor(int hash, int shift) {
+        return 1 << ((hash >>> shift) & 31);
+    }
+
+    /**
+     * Holds one slot pair per set bit: either a key and its value, or {@code null} and a child node.
+     */
+    private static final class BitmapNode implements Node {
+        static final BitmapNode EMPTY = new BitmapNode(0, new Object[0]);
+
+        private final int bitmap;
+        private final Object[] array;
+
+        BitmapNode(int bitmap, Object[] array) {
+            this.bitmap = bitmap;
+            this.array = array;
+        }
+
+        @Override
+        public JsonElement get(String key, int hash, int shift) {
+            int bit = bitFor(hash, shift);
+            if ((bitmap & bit) == 0) {
+                return null;
+            }
+            int index = 2 * Integer.bitCount(bitmap & (bit - 1));
+            Object keyOrNull = array[index];
+            Object valueOrNode = array[index + 1];
+            if (keyOrNull == null) {
+                return ((Node) valueOrNode).get(key, hash, shift + 5);
+            }
+            return key.equals(keyOrNull) ? (JsonElement) valueOrNode : null;
+        }
+
+        @Override
+        public Node put(String key, int hash, int shift, JsonElement value, boolean[] added) {
+            int bit = bitFor(hash, shift);
+            int index = 2 * Integer.bitCount(bitmap & (bit - 1));
+
+            if ((bitmap & bit) == 0) {
+                Object[] newArray = new Object[array.length + 2];
+                System.arraycopy(array, 0, newArray, 0, index);
+                newArray[index] = key;
+                newArray[index + 1] = value;
+                System.arraycopy(array, index, newArray, index + 2, array.length - index);
+                added[0] = true;
+                return new BitmapNode(bitmap | bit, newArray);
+            }
+
+            Object keyOrNull = array[index];
+            Object valueOrNode = array[index + 1];
+            if (keyOrNull == null) {
+                Node child = (Node) valueOrNode;
+                Node newChild = child.put(key, hash, shift + 5, value, added);
+                return newChild == child ? this : copyAndSet(index, null, newChild);
+            }
+            if (key.equals(keyOrNull)) {
+                return valueOrNode == value ? this : copyAndSet(index, key, value);
+            }
+            String existingKey = (String) keyOrNull;
+            Node child = createNode(shift + 5, existingKey, (JsonElement) valueOrNode, key, hash, value);
+            added[0] = true;
+            return copyAndSet(index, null, child);
+        }
+
+        @Override
+        public void forEach(Visitor visitor) {
+            for (int i = 0; i < array.length; i += 2) {
+                if (array[i] == null) {
+                    ((Node) array[i + 1]).forEach(visitor);
+                } else {
+                    visitor.visit((String) array[i], (JsonElement) array[i + 1]);
+                }
+            }
+        }
+
+        private BitmapNode copyAndSet(int index, String key, Object valueOrNode) {
+            Object[] newArray = array.clone();
+            newArray[index] = key;
+            newArray[index + 1] = valueOrNode;
+            return new BitmapNode(bitmap, newArray);
+        }
+
+        private static Node createNode(int shift, String key1, JsonElement value1, String key2, int hash2, JsonElement value2) {
+            int hash1 = key1.hashCode();
+            if (hash1 == hash2) {
+                return new CollisionNode(hash1, new Object[]{key1, value1, key2, value2});
+            }
+            boolean[] added = new boolean[1];
+            return EMPTY.put(key1, hash1, shift, value1, added).put(key2, hash2, shift, value2, added);
+        }
+    }
+
+    /**
+     * Holds the keys whose hash codes are all equal.
+     */
+    private static final class CollisionNode implements Node {
+        private final int hash;
+        private final Object[] array;
+
+        CollisionNode(int hash, Object[] array) {
+            this.hash = hash;
+            this.array = array;
+        }
+
+        @Override
+        public JsonElement get(String key, int hash, int shift) {
+            for (int i = 0; i < array.length; i += 2) {
+                if (key.equals(array[i])) {
+                    return (JsonElement) array[i + 1];
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public Node put(String key, int hash, int shift, JsonElement value, boolean[] added) {
+            if (hash != this.hash) {
+                BitmapNode parent = new BitmapNode(bitFor(this.hash, shift), new Object[]{null, this});
+                return parent.put(key, hash, shift, value, added);
+            }
+            for (int i = 0; i < array.length; i += 2) {
+                if (key.equals(array[i])) {
+                    if (array[i + 1] == value) {
+                        return this;
+                    }
+                    Object[] newArray = array.clone();
+                    newArray[i + 1] = value;
+                    return new CollisionNode(hash, newArray);
+                }
+            }
+            Object[] newArray = new Object[array.length + 2];
+            System.arraycopy(array, 0, newArray, 0, array.length);
+            newArray[array.length] = key;
+            newArray[array.length + 1] = value;
+            added[0] = true;
+            return new CollisionNode(hash, newArray);
+        }
+
+        @Override
+        public void forEach(Visitor visitor) {
+            for (int i = 0; i < array.length; i += 2) {
+                visitor.visit((String) array[i], (JsonElement) array[i + 1]);
+            }
+        }
+    }
+}
@@ -1,18 +1,19 @@
 package com.herewhite.sdk;
 
-import com.google.gson.JsonSyntaxException;
+import android.os.Build;
+
 import com.herewhite.sdk.domain.EventEntry;
-import com.herewhite.sdk.domain.EventListener;
-import com.herewhite.sdk.domain.FrequencyEventListener;
 import com.herewhite.sdk.domain.PlayerObserverMode;
 import com.herewhite.sdk.domain.PlayerPhase;
 import com.herewhite.sdk.domain.PlayerState;
 import com.herewhite.sdk.domain.PlayerTimeInfo;
 import com.herewhite.sdk.domain.Promise;
 import com.herewhite.sdk.domain.SDKError;
-import com.herewhite.sdk.internal.Logger;
 import com.herewhite.sdk.internal.PlayerDelegate;
 
+import java.util.concurrent.CompletableFuture;
+
+import androidx.annotation.RequiresApi;
 import wendu.dsbridge.OnReturnValue;
 
 /**
@@ -76,12 +77,7 @@ public class Player extends Displayer {
      * - An error message, if the method call fails.
      */
     public void getPlaybackSpeed(final Promise<Double> promise) {
-        bridge.callHandler("player.state.playbackSpeed", new OnReturnValue<Number>() {
-            @Override
-            public void onValue(Number value) {
-                promise.then(value.doubleValue());
-            }
-        });
+        bridge.callHandler("player.state.playbackSpeed", PromiseReturnValue.of("getPlaybackSpeed", Double.class, promise));
     }
 
     private double playbackSpeed;
@@ -194,22 +190,7 @@ public class Player extends Displayer {
      * - An error message, if the method call fails.
      */
     public void getPhase(final Promise<PlayerPhase> promise) {
-        bridge.callHandler("player.getBroadcastState", new Object[]{}, new OnReturnValue<Object>() {
-            @Override
-            public void onValue(Object o) {
-                try {
-                    promise.then(PlayerPhase.valueOf(String.valueOf(o)));
-                } catch (AssertionError a) {
-                    throw a;
-                } catch (JsonSyntaxException e) {
-                    Logger.error("An JsonSyntaxException occurred while parse json from getPhase", e);
-                    promise.catchEx(new SDKError(e.getMessage()));
-                } catch (Throwable e) {
-                    Logger.error("An exception occurred in getPhase promise then method", e);
-                    promise.catchEx(new SDKError(e.getMessage()));
-                }
-            }
-        });
+        bridge.callHandler("player.getBroadcastState", new Object[]{}, PromiseReturnValue.ofEnumName("getPhase", PlayerPhase.class, promise));
     }
 
     /**
@@ -220,6 +201,7 @@ public class Player extends Displayer {
      * @note
      * - This method call is asynchronous.
      * - This method call returns `null` if the `Player` instance is in the `waitingFirstFrame` phase.
+     * - The SDK returns the same `PlayerState` object to every caller until it changes. Treat it as read-only.
      *
      * @return The state of the the `Player` instance. See {@link com.herewhite.sdk.domain.PlayerState PlayerState}.
      *
@@ -244,23 +226,7 @@ public class Player extends Displayer {
      * - An error message, if the method call fails.
      */
     public void getPlayerState(final Promise<PlayerState> promise) {
-        bridge.callHandler("player.state.playerState", new Object[]{}, new OnReturnValue<Object>() {
-            @Override
-            public void onValue(Object o) {
-                try {
-                    PlayerState playerState = gson.fromJson(String.valueOf(o), PlayerState.class);
-                    promise.then(playerState);
-                } catch (AssertionError a) {
-                    throw a;
-                } catch (JsonSyntaxException e) {
-                    Logger.error("An JsonSyntaxException occurred while parse json from getPlayerState", e);
-                    promise.catchEx(new SDKError(e.getMessage()));
-                } catch (Throwable e) {
-                    Logger.error("An exception occurred in getPlayerState promise then method", e);
-                    promise.catchEx(new SDKError(e.getMessage()));
-                }
-            }
-        });
+        bridge.callHandler("player.state.playerState", new Object[]{}, PromiseReturnValue.of("getPlayerState", PlayerState.class, promise));
     }
 
     /**
@@ -306,6 +272,77 @@ public class Player extends Displayer {
     }
     //endregion
 
+    // region Async API
+
+    /**
+     * Gets the playback speed.
+     *
+     * This method is the same as {@link #getPlaybackSpeed(Promise) getPlaybackSpeed}, except that it returns a `CompletableFuture`.
+     * The future fails with a `TimeoutException` if the whiteboard does not return within the time set by {@link Displayer#setAsyncTimeout(long) setAsyncTimeout}.
+     *
+     * @note This method requires Android 7.0 (API level 24) or later.
+     *
+     * @return The `CompletableFuture<Double>` object.
+     */
+    @RequiresApi(api = Build.VERSION_CODES.N)
+    public CompletableFuture<Double> getPlaybackSpeedAsync() {
+        FuturePromise<Double> promise = newFuturePromise("getPlaybackSpeed");
+        getPlaybackSpeed(promise);
+        return promise.getFuture();
+    }
+
+    /**
+     * Gets the playback phase of the `Player` instance.
+     *
+     * This method is the same as {@link #getPhase(Promise) getPhase}, except that it returns a `CompletableFuture`.
+     * The future fails with a `TimeoutException` if the whiteboard does not return within the time set by {@link Displayer#setAsyncTimeout(long) setAsyncTimeout}.
+     *
+     * @note This method requires Android 7.0 (API level 24) or later.
+     *
+     * @return The `CompletableFuture<PlayerPhase>` object.
+     */
+    @RequiresApi(api = Build.VERSION_CODES.N)
+    public CompletableFuture<PlayerPhase> getPhaseAsync() {
+        FuturePromise<PlayerPhase> promise = newFuturePromise("getPhase");
+        getPhase(promise);
+        return promise.getFuture();
+    }
+
+    /**
+     * Gets the state of the `Player` instance.
+     *
+     * This method is the same as {@link #getPlayerState(Promise) getPlayerState}, except that it returns a `CompletableFuture`.
+     * The future fails with a `TimeoutException` if the whiteboard does not return within the time set by {@link Displayer#setAsyncTimeout(long) setAsyncTimeout}.
+     *
+     * @note This method requires Android 7.0 (API level 24) or later.
+     *
+     * @return The `CompletableFuture<PlayerState>` object.
+     */
+    @RequiresApi(api = Build.VERSION_CODES.N)
+    public CompletableFuture<PlayerState> getPlayerStateAsync() {
+        FuturePromise<PlayerState> promise = newFuturePromise("getPlayerState");
+        getPlayerState(promise);
+        return promise.getFuture();
+    }
+
+    /**
+     * Gets the time information of the `Player` instance.
+     *
+     * This method is the same as {@link #getPlayerTimeInfo(Promise) getPlayerTimeInfo}, except that it returns a `CompletableFuture`.
+     * The future fails with a `TimeoutException` if the whiteboard does not return within the time set by {@link Displayer#setAsyncTimeout(long) setAsyncTimeout}.
+     *
+     * @note This method requires Android 7.0 (API level 24) or later.
+     *
+     * @return The `CompletableFuture<PlayerTimeInfo>` object.
+     */
+    @RequiresApi(api = Build.VERSION_CODES.N)
+    public CompletableFuture<PlayerTimeInfo> getPlayerTimeInfoAsync() {
+        FuturePromise<PlayerTimeInfo> promise = newFuturePromise("getPlayerTimeInfo");
+        getPlayerTimeInfo(promise);
+        return promise.getFuture();
+    }
+    // endregion
+
     // region PlayerListener
     private PlayerListener listener;
 
@@ -323,34 +360,34 @@ public class Player extends Displayer {
         return playerDelegate;
     }
 
-    private SyncDisplayerState.Listener<PlayerState> localPlayStateListener = modifyState -> {
-        post(() -> {
-            if (listener != null) {
-                listener.onPlayerStateChanged(modifyState);
-            }
-        });
-    };
+    private SyncDisplayerState.Listener<PlayerState> localPlayStateListener = this::handleDisplayerStateChanged;
+
+    @Override
+    void prepareDisplayerStateChanged(SyncDisplayerState.Snapshot<?> modifyState) {
+        if (listener != null) {
+            modifyState.getState();
+        }
+        super.prepareDisplayerStateChanged(modifyState);
+    }
+
+    @Override
+    void dispatchDisplayerStateChanged(SyncDisplayerState.Snapshot<?> modifyState) {
+        if (listener != null) {
+            listener.onPlayerStateChanged((PlayerState) modifyState.getState());
+        }
+        super.dispatchDisplayerStateChanged(modifyState);
+    }
 
 
     private class PlayerDelegateImpl implements PlayerDelegate {
         @Override
         public void fireMagixEvent(EventEntry eventEntry) {
-            post(() -> {
-                EventListener eventListener = eventListenerMap.get(eventEntry.getEventName());
-                if (eventListener != null) {
-                    eventListener.onEvent(eventEntry);
-                }
-            });
+            Player.this.fireMagixEvent(eventEntry);
         }
 
         @Override
         public void fireHighFrequencyEvent(EventEntry[] eventEntries) {
-            post(() -> {
-                FrequencyEventListener eventListener = frequencyEventListenerMap.get(eventEntries[0].getEventName());
-                if (eventListener != null) {
-                    eventListener.onEvent(eventEntries);
-                }
-            });
+            Player.this.fireHighFrequencyEvent(eventEntries);
         }
 
         @Override
@@ -0,0 +1,165 @@
+package com.herewhite.sdk;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+import com.google.gson.TypeAdapter;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import com.herewhite.sdk.domain.Promise;
+import com.herewhite.sdk.domain.SDKError;
+import com.herewhite.sdk.domain.WhiteGson;
+import com.herewhite.sdk.internal.Logger;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import androidx.annotation.Nullable;
+import wendu.dsbridge.OnReturnValue;
+
+/**
+ * Hidden in documentation
+ *
+ * Decodes the return value of a bridge call into the type the promise expects and settles the promise.
+ *
+ * A string from the bridge is read straight into the target type with a streaming {@link TypeAdapter},
+ * so it is parsed once instead of being turned into a tree or re-serialized first.
+ * A decoding failure and an exception thrown by {@link Promise#then(Object)} both end up in {@link Promise#catchEx(SDKError)}.
+ */
+final class PromiseReturnValue<T> implements OnReturnValue<Object> {
+
+    private final static Gson gson = WhiteGson.get();
+    private final static String ERROR_PREFIX = "{\"__error\":";
+
+    /**
+     * Turns the result object of a call that reports failures through the {@code __error} field into the value of the promise.
+     */
+    interface ResultHandler<T> {
+        T onResult(@Nullable JsonObject result);
+    }
+
+    private final String method;
+    private final TypeAdapter<?> adapter;
+    @Nullable
+    private final ResultHandler<T> resultHandler;
+    @Nullable
+    private final Promise<? super T> promise;
+
+    private PromiseReturnValue(String method, TypeAdapter<?> adapter, @Nullable ResultHandler<T> resultHandler, @Nullable Promise<? super T> promise) {
+        this.method = method;
+        this.adapter = adapter;
+        this.resultHandler = resultHandler;
+        this.promise = promise;
+    }
+
+    static <T> PromiseReturnValue<T> of(String method, Class<T> classOfT, @Nullable Promise<? super T> promise) {
+        return new PromiseReturnValue<>(method, gson.getAdapter(classOfT), null, promise);
+    }
+
+    static <T> PromiseReturnValue<T> of(String method, TypeToken<T> typeOfT, @Nullable Promise<? super T> promise) {
+        return new PromiseReturnValue<>(method, gson.getAdapter(typeOfT), null, promise);
+    }
+
+    /**
+     * For calls that return the name of an enum constant, which may differ from its serialized name.
+     */
+    static <E extends Enum<E>> PromiseReturnValue<E> ofEnumName(String method, Class<E> enumClass, @Nullable Promise<? super E> promise) {
+        return new PromiseReturnValue<>(method, new EnumNameAdapter<>(enumClass), null, promise);
+    }
+
+    /**
+     * For calls that return an object with an {@code __error} field on failure.
+     */
+    static <T> PromiseReturnValue<T> ofResult(String method, ResultHandler<T> resultHandler, @Nullable Promise<? super T> promise) {
+        return new PromiseReturnValue<>(method, gson.getAdapter(JsonObject.class), resultHandler, promise);
+    }
+
+    /**
+     * Makes a return value in the form the page uses for failures, for a call whose own return value is lost.
+     * Every promise is settled with {@link Promise#catchEx(SDKError)} when it gets this value.
+     */
+    static String errorValue(String message) {
+        JsonObject error = new JsonObject();
+        error.addProperty("message", message);
+        error.addProperty("jsStack", "Native Error");
+        JsonObject result = new JsonObject();
+        result.add("__error", error);
+        return result.toString();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void onValue(Object retValue) {
+        if (promise == null) {
+            return;
+        }
+        if (resultHandler == null && retValue instanceof String && ((String) retValue).startsWith(ERROR_PREFIX)) {
+            promise.catchEx(SDKError.promiseError((String) retValue));
+            return;
+        }
+        Object decoded;
+        try {
+            decoded = decode(retValue);
+        } catch (IOException | RuntimeException e) {
+            Logger.error("An JsonSyntaxException occurred while parse json from " + method, e);
+            promise.catchEx(new SDKError(e.getMessage()));
+            return;
+        }
+        try {
+            T value;
+            if (resultHandler != null) {
+                JsonObject result = (JsonObject) decoded;
+                SDKError sdkError = result == null ? null : SDKError.promiseError(result);
+                if (sdkError != null) {
+                    promise.catchEx(sdkError);
+                    return;
+                }
+                value = resultHandler.onResult(result);
+            } else {
+                value = (T) decoded;
+            }
+            promise.then(value);
+        } catch (AssertionError a) {
+            throw a;
+        } catch (Throwable e) {
+            Logger.error("An exception occurred in " + method + " promise then method", e);
+            promise.catchEx(new SDKError(e.getMessage()));
+        }
+    }
+
+    private Object decode(Object retValue) throws IOException {
+        if (retValue == null) {
+            return null;
+        }
+        if (retValue instanceof Number || retValue instanceof Boolean) {
+            return adapter.fromJsonTree(retValue instanceof Number ? new JsonPrimitive((Number) retValue) : new JsonPrimitive((Boolean) retValue));
+        }
+        // DSBridge hands over JSON objects and arrays as org.json values, which only convert back through their text.
+        String json = retValue.toString();
+        if (json.isEmpty()) {
+            return null;
+        }
+        JsonReader reader = new JsonReader(new StringReader(json));
+        reader.setLenient(true);
+        return adapter.read(reader);
+    }
+
+    private static final class EnumNameAdapter<E extends Enum<E>> extends TypeAdapter<E> {
+        private final Class<E> enumClass;
+
+        EnumNameAdapter(Class<E> enumClass) {
+            this.enumClass = enumClass;
+        }
+
+        @Override
+        public void write(JsonWriter out, E value) throws IOException {
+            out.value(value == null ? null : value.name());
+        }
+
+        @Override
+        public E read(JsonReader in) throws IOException {
+            return Enum.valueOf(enumClass, in.nextString());
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.herewhite.sdk;
+
+import com.google.gson.Gson;
+import com.herewhite.sdk.domain.WhiteGson;
+
+import wendu.dsbridge.OnReturnValue;
+
+/**
+ * Hidden in documentation
+ *
+ * Records every call through the wrapped bridge, and the return value of every call that has a handler, in a {@link BridgeRecorder}.
+ * The arguments are serialized only while the recorder is recording.
+ */
+final class RecordingBridge implements JsBridgeInterface {
+
+    private final static Gson gson = WhiteGson.get();
+
+    private final JsBridgeInterface bridge;
+    private final BridgeRecorder recorder;
+
+    RecordingBridge(JsBridgeInterface bridge, BridgeRecorder recorder) {
+        this.bridge = bridge;
+        this.recorder = recorder;
+    }
+
+    @Override
+    public <T> void callHandler(final String method, Object[] args, final OnReturnValue<T> handler) {
+        if (!recorder.isRecording()) {
+            bridge.callHandler(method, args, handler);
+            return;
+        }
+        recorder.record(BridgeRecorder.KIND_CALL, method, serialize(args));
+        OnReturnValue<T> recordingHandler = null;
+        if (handler != null) {
+            recordingHandler = retValue -> {
+                recorder.record(BridgeRecorder.KIND_RETURN, method, retValue == null ? null : String.valueOf(retValue));
+                handler.onValue(retValue);
+            };
+        }
+        bridge.callHandler(method, args, recordingHandler);
+    }
+
+    @Override
+    public void callHandler(String method, Object[] args) {
+        this.callHandler(method, args, null);
+    }
+
+    @Override
+    public <T> void callHandler(String method, OnReturnValue<T> handler) {
+        this.callHandler(method, null, handler);
+    }
+
+    @Override
+    public void addJavascriptObject(Object object, String namespace) {
+        bridge.addJavascriptObject(object, namespace);
+    }
+
+    @Override
+    public void callFocusView() {
+        bridge.callFocusView();
+    }
+
+    private static String[] serialize(Object[] args) {
+        if (args == null) {
+            return new String[0];
+        }
+        String[] serialized = new String[args.length];
+        for (int i = 0; i < args.length; i++) {
+            try {
+                serialized[i] = gson.toJson(args[i]);
+            } catch (RuntimeException e) {
+                // Arguments that Gson cannot serialize still reach the bridge; they are recorded as null.
+                serialized[i] = null;
+            }
+        }
+        return serialized;
+    }
+}
@@ -0,0 +1,98 @@
+package com.herewhite.sdk;
+
+import com.google.gson.Gson;
+import com.herewhite.sdk.domain.EventEntry;
+import com.herewhite.sdk.domain.PlayerPhase;
+import com.herewhite.sdk.domain.SDKError;
+import com.herewhite.sdk.domain.WhiteGson;
+import com.herewhite.sdk.internal.PlayerDelegate;
+
+/**
+ * Hidden in documentation
+ *
+ * Records the calls from the whiteboard page to a {@link Player} in a {@link BridgeRecorder}, in the form {@link BridgeReplayer} reads back.
+ */
+final class RecordingPlayerDelegate implements PlayerDelegate {
+
+    private final static Gson gson = WhiteGson.get();
+
+    private final PlayerDelegate delegate;
+    private final BridgeRecorder recorder;
+
+    RecordingPlayerDelegate(PlayerDelegate delegate, BridgeRecorder recorder) {
+        this.delegate = delegate;
+        this.recorder = recorder;
+    }
+
+    private void record(String method, String... args) {
+        recorder.record(BridgeRecorder.KIND_PLAYER, method, args);
+    }
+
+    private static String message(SDKError error) {
+        return error == null ? null : error.getMessage();
+    }
+
+    @Override
+    public void fireMagixEvent(EventEntry eventEntry) {
+        if (recorder.isRecording()) {
+            record("fireMagixEvent", gson.toJson(eventEntry));
+        }
+        delegate.fireMagixEvent(eventEntry);
+    }
+
+    @Override
+    public void fireHighFrequencyEvent(EventEntry[] eventEntries) {
+        if (recorder.isRecording()) {
+            record("fireHighFrequencyEvent", gson.toJson(eventEntries));
+        }
+        delegate.fireHighFrequencyEvent(eventEntries);
+    }
+
+    @Override
+    public void setPlayerPhase(PlayerPhase playerPhase) {
+        record("setPlayerPhase", playerPhase == null ? null : playerPhase.name());
+        delegate.setPlayerPhase(playerPhase);
+    }
+
+    @Override
+    public void onLoadFirstFrame() {
+        record("onLoadFirstFrame");
+        delegate.onLoadFirstFrame();
+    }
+
+    @Override
+    public void onSliceChanged(String slice) {
+        record("onSliceChanged", slice);
+        delegate.onSliceChanged(slice);
+    }
+
+    @Override
+    public void syncDisplayerState(String stateJSON) {
+        record("syncDisplayerState", stateJSON);
+        delegate.syncDisplayerState(stateJSON);
+    }
+
+    @Override
+    public void onStoppedWithError(SDKError error) {
+        record("onStoppedWithError", message(error));
+        delegate.onStoppedWithError(error);
+    }
+
+    @Override
+    public void setScheduleTime(long scheduleTime) {
+        record("setScheduleTime", String.valueOf(scheduleTime));
+        delegate.setScheduleTime(scheduleTime);
+    }
+
+    @Override
+    public void onCatchErrorWhenAppendFrame(SDKError error) {
+        record("onCatchErrorWhenAppendFrame", message(error));
+        delegate.onCatchErrorWhenAppendFrame(error);
+    }
+
+    @Override
+    public void onCatchErrorWhenRender(SDKError error) {
+        record("onCatchErrorWhenRender", message(error));
+        delegate.onCatchErrorWhenRender(error);
+    }
+}
@@ -0,0 +1,87 @@
+package com.herewhite.sdk;
+
+import com.google.gson.Gson;
+import com.herewhite.sdk.domain.EventEntry;
+import com.herewhite.sdk.domain.RoomPhase;
+import com.herewhite.sdk.domain.WhiteGson;
+import com.herewhite.sdk.internal.RoomDelegate;
+
+/**
+ * Hidden in documentation
+ *
+ * Records the calls from the whiteboard page to a {@link Room} in a {@link BridgeRecorder}, in the form {@link BridgeReplayer} reads back.
+ */
+final class RecordingRoomDelegate implements RoomDelegate {
+
+    private final static Gson gson = WhiteGson.get();
+
+    private final RoomDelegate delegate;
+    private final BridgeRecorder recorder;
+
+    RecordingRoomDelegate(RoomDelegate delegate, BridgeRecorder recorder) {
+        this.delegate = delegate;
+        this.recorder = recorder;
+    }
+
+    private void record(String method, String... args) {
+        recorder.record(BridgeRecorder.KIND_ROOM, method, args);
+    }
+
+    @Override
+    public void fireMagixEvent(EventEntry eventEntry) {
+        if (recorder.isRecording()) {
+            record("fireMagixEvent", gson.toJson(eventEntry));
+        }
+        delegate.fireMagixEvent(eventEntry);
+    }
+
+    @Override
+    public void fireHighFrequencyEvent(EventEntry[] eventEntries) {
+        if (recorder.isRecording()) {
+            record("fireHighFrequencyEvent", gson.toJson(eventEntries));
+        }
+        delegate.fireHighFrequencyEvent(eventEntries);
+    }
+
+    @Override
+    public void firePhaseChanged(RoomPhase valueOf) {
+        record("firePhaseChanged", valueOf == null ? null : valueOf.name());
+        delegate.firePhaseChanged(valueOf);
+    }
+
+    @Override
+    public void fireCanUndoStepsUpdate(long canUndoSteps) {
+        record("fireCanUndoStepsUpdate", String.valueOf(canUndoSteps));
+        delegate.fireCanUndoStepsUpdate(canUndoSteps);
+    }
+
+    @Override
+    public void onCanRedoStepsUpdate(long canRedoSteps) {
+        record("onCanRedoStepsUpdate", String.valueOf(canRedoSteps));
+        delegate.onCanRedoStepsUpdate(canRedoSteps);
+    }
+
+    @Override
+    public void fireKickedWithReason(String reason) {
+        record("fireKickedWithReason", reason);
+        delegate.fireKickedWithReason(reason);
+    }
+
+    @Override
+    public void fireDisconnectWithError(Exception exception) {
+        record("fireDisconnectWithError", exception == null ? null : exception.getMessage());
+        delegate.fireDisconnectWithError(exception);
+    }
+
+    @Override
+    public void fireCatchErrorWhenAppendFrame(long userId, Exception exception) {
+        record("fireCatchErrorWhenAppendFrame", String.valueOf(userId), exception == null ? null : exception.getMessage());
+        delegate.fireCatchErrorWhenAppendFrame(userId, exception);
+    }
+
+    @Override
+    public void fireRoomStateChanged(String stateJSON) {
+        record("fireRoomStateChanged", stateJSON);
+        delegate.fireRoomStateChanged(stateJSON);
+    }
+}
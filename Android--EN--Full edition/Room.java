@@ -1,16 +1,17 @@
 package com.herewhite.sdk;
 
+import android.os.Build;
+
 import androidx.annotation.Nullable;
+import androidx.annotation.RequiresApi;
 
+import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
-import com.google.gson.JsonSyntaxException;
 import com.herewhite.sdk.domain.AkkoEvent;
 import com.herewhite.sdk.domain.Appliance;
 import com.herewhite.sdk.domain.BroadcastState;
 import com.herewhite.sdk.domain.CameraConfig;
 import com.herewhite.sdk.domain.EventEntry;
-import com.herewhite.sdk.domain.EventListener;
-import com.herewhite.sdk.domain.FrequencyEventListener;
 import com.herewhite.sdk.domain.GlobalState;
 import com.herewhite.sdk.domain.ImageInformation;
 import com.herewhite.sdk.domain.ImageInformationWithUrl;
@@ -19,16 +20,22 @@ import com.herewhite.sdk.domain.Promise;
 import com.herewhite.sdk.domain.RoomMember;
 import com.herewhite.sdk.domain.RoomPhase;
 import com.herewhite.sdk.domain.RoomState;
-import com.herewhite.sdk.domain.SDKError;
 import com.herewhite.sdk.domain.Scene;
 import com.herewhite.sdk.domain.SceneState;
 import com.herewhite.sdk.domain.ViewMode;
-import com.herewhite.sdk.internal.Logger;
 import com.herewhite.sdk.internal.RoomDelegate;
 
 import org.json.JSONObject;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
 
 import wendu.dsbridge.OnReturnValue;
 
@@ -37,6 +44,12 @@ import wendu.dsbridge.OnReturnValue;
  */
 public class Room extends Displayer {
     private SyncDisplayerState<RoomState> syncRoomState;
+    private final CopyOnWriteArrayList<RoomMembersListener> roomMembersListeners = new CopyOnWriteArrayList<>();
+    /**
+     * The listeners that have received the current members; the others are skipped by member updates until they have.
+     */
+    private final Set<RoomMembersListener> initializedRoomMembersListeners = Collections.newSetFromMap(new ConcurrentHashMap<RoomMembersListener, Boolean>());
+    private final RoomMemberIndex roomMemberIndex = new RoomMemberIndex();
     private RoomPhase roomPhase = RoomPhase.connecting;
 
     void setDisconnectedBySelf(Boolean disconnectedBySelf) {
@@ -72,6 +85,9 @@ public class Room extends Displayer {
     private Boolean writable;
     private Integer timeDelay;
     private Long observerId;
+    private volatile boolean skipRedundantStateWrites;
+    private final AtomicLong suppressedStateWriteCount = new AtomicLong();
+    private volatile MagixEventBatcher magixEventBatcher;
 
     /// @cond test
     /**
@@ -85,7 +101,7 @@ public class Room extends Displayer {
     }
     /// @endcond
 
-    void setSyncRoomState(String stateJSON) {
+    void setSyncRoomState(JsonObject stateJSON) {
         syncRoomState.syncDisplayerState(stateJSON);
     }
 
@@ -123,7 +139,10 @@ public class Room extends Displayer {
      * @param globalState The global public state the room. See {@link com.herewhite.sdk.domain.GlobalState GlobalState}.
      */
     public void setGlobalState(GlobalState globalState) {
-        syncRoomState.putProperty("globalState", globalState);
+        if (!syncRoomState.putProperty("globalState", globalState) && skipRedundantStateWrites) {
+            suppressedStateWriteCount.incrementAndGet();
+            return;
+        }
         bridge.callHandler("room.setGlobalState", new Object[]{globalState});
     }
 
@@ -137,13 +156,49 @@ public class Room extends Displayer {
      * @param memberState The state of the whiteboard tool. See {@link com.herewhite.sdk.domain.MemberState MemberState}.
      */
     public void setMemberState(MemberState memberState) {
-        syncRoomState.putProperty("memberState", memberState);
+        boolean changed = syncRoomState.putProperty("memberState", memberState);
         if (Appliance.TEXT.equals(memberState.getCurrentApplianceName())) {
             bridge.callFocusView();
         }
+        if (!changed && skipRedundantStateWrites) {
+            suppressedStateWriteCount.incrementAndGet();
+            return;
+        }
         bridge.callHandler("room.setMemberState", new Object[]{memberState});
     }
 
+    /**
+     * Sets whether {@link #setGlobalState(GlobalState) setGlobalState} and {@link #setMemberState(MemberState) setMemberState}
+     * skip sending a state that equals the local state of the room.
+     *
+     * Applying the same state again, for example when a toolbar re-applies its `MemberState` on every redraw, changes nothing
+     * on the whiteboard. Enable this to have the SDK not send it.
+     *
+     * @note
+     * - The local state is updated as soon as you call `setGlobalState` or `setMemberState`, before the whiteboard applies it.
+     * If the whiteboard ignores or rejects a change, for example while the user is not writable, calling the method again with
+     * the same state is skipped too.
+     * - The local `globalState` can lag behind the changes of other users by the network delay. Do not enable this if your
+     * application relies on writing the same `globalState` again to overwrite a concurrent change of another user.
+     *
+     * @param skipRedundantStateWrites Whether to skip sending an unchanged state:
+     * - `true`: Skip it.
+     * - `false`: (Default) Always send it.
+     */
+    public void setSkipRedundantStateWrites(boolean skipRedundantStateWrites) {
+        this.skipRedundantStateWrites = skipRedundantStateWrites;
+    }
+
+    /**
+     * Gets the number of {@link #setGlobalState(GlobalState) setGlobalState} and {@link #setMemberState(MemberState) setMemberState}
+     * calls that were not sent to the whiteboard because they did not change the state.
+     *
+     * @return The number of skipped calls.
+     */
+    public long getSuppressedStateWriteCount() {
+        return suppressedStateWriteCount.get();
+    }
+
     //region operation
 
 
@@ -305,25 +360,7 @@ public class Room extends Displayer {
      */
     public void disconnect(@Nullable final Promise<Object> promise) {
         setDisconnectedBySelf(true);
-        bridge.callHandler("room.disconnect", new Object[]{}, new OnReturnValue<Object>() {
-            @Override
-            public void onValue(Object o) {
-                if (promise == null) {
-                    return;
-                }
-                try {
-                    promise.then(gson.fromJson(String.valueOf(o), GlobalState.class));
-                } catch (AssertionError a) {
-                    throw a;
-                } catch (JsonSyntaxException e) {
-                    Logger.error("An JsonSyntaxException occurred while parse json from disconnect", e);
-                    promise.catchEx(new SDKError(e.getMessage()));
-                } catch (Throwable e) {
-                    Logger.error("An exception occurred in disconnect promise then method", e);
-                    promise.catchEx(new SDKError(e.getMessage()));
-                }
-            }
-        });
+        bridge.callHandler("room.disconnect", new Object[]{}, PromiseReturnValue.of("disconnect", GlobalState.class, promise));
     }
     //region image
 
@@ -387,12 +424,13 @@ public class Room extends Displayer {
      * - This method call is synchronous.
      * - This method can get and cast the custom `GlobalState` set by the {@link com.herewhite.sdk.domain.WhiteDisplayerState#setCustomGlobalStateClass(Class<T> classOfT) setCustomGlobalStateClass} method.
      * - You can call this method immediately after calling the {@link #setGlobalState(GlobalState) setGlobalState} method.
+     * - The SDK returns the same `GlobalState` object to every caller until it changes. Do not modify the object; to change the global state, pass a new object to {@link #setGlobalState(GlobalState) setGlobalState}.
      *
      * @return The global state of the room. See {@link com.herewhite.sdk.domain.GlobalState GlobalState}.
      *
      */
     public GlobalState getGlobalState() {
-        return syncRoomState.getDisplayerState().getGlobalState();
+        return DisplayerStateKey.GLOBAL_STATE.read(syncRoomState.getSnapshot());
     }
 
     /**
@@ -416,34 +454,7 @@ public class Room extends Displayer {
      * Hidden in documentation
      */
     private <T> void getGlobalState(final Class<T> classOfT, final Promise<T> promise) {
-        bridge.callHandler("room.getGlobalState", new Object[]{}, new OnReturnValue<Object>() {
-            @Override
-            public void onValue(Object o) {
-                T customState = null;
-                try {
-                    customState = gson.fromJson(String.valueOf(o), classOfT);
-                } catch (AssertionError a) {
-                    throw a;
-                } catch (Throwable e) {
-                    Logger.error("An exception occurred while parse json from getGlobalState for customState", e);
-                    promise.catchEx(new SDKError((e.getMessage())));
-                }
-                if (customState == null) {
-                    return;
-                }
-                try {
-                    promise.then(customState);
-                } catch (AssertionError a) {
-                    throw a;
-                } catch (JsonSyntaxException e) {
-                    Logger.error("An JsonSyntaxException occurred while parse json from getGlobalState", e);
-                    promise.catchEx(new SDKError(e.getMessage()));
-                } catch (Throwable e) {
-                    Logger.error("An exception occurred in getGlobalState promise then method", e);
-                    promise.catchEx(new SDKError(e.getMessage()));
-                }
-            }
-        });
+        bridge.callHandler("room.getGlobalState", new Object[]{}, PromiseReturnValue.of("getGlobalState", classOfT, promise));
     }
 
     /**
@@ -454,12 +465,13 @@ public class Room extends Displayer {
      * @note
      * - This method call is synchronous.
      * - You can call this method to get the latest `MemberState` immediately after calling the {@link #setMemberState(MemberState) setMemberState} method.
+     * - The SDK returns the same `MemberState` object to every caller until it changes. Do not modify the object; to change the tool, pass a new object to {@link #setMemberState(MemberState) setMemberState}.
      *
      * @return The state of the whiteboard tool currently in use. See {@link com.herewhite.sdk.domain.MemberState MemberState}.
      *
      */
     public MemberState getMemberState() {
-        return syncRoomState.getDisplayerState().getMemberState();
+        return syncRoomState.getSnapshot().getProperty("memberState", MemberState.class);
     }
 
     /**
@@ -472,22 +484,69 @@ public class Room extends Displayer {
      * - An error message, if the method call fails.
      */
     public void getMemberState(final Promise<MemberState> promise) {
-        bridge.callHandler("room.getMemberState", new OnReturnValue<String>() {
-            @Override
-            public void onValue(String o) {
-                try {
-                    promise.then(gson.fromJson(String.valueOf(o), MemberState.class));
-                } catch (AssertionError a) {
-                    throw a;
-                } catch (JsonSyntaxException e) {
-                    Logger.error("An JsonSyntaxException occurred while parse json from getMemberState", e);
-                    promise.catchEx(new SDKError(e.getMessage()));
-                } catch (Throwable e) {
-                    Logger.error("An exception occurred in getMemberState promise then method", e);
-                    promise.catchEx(new SDKError(e.getMessage()));
+        bridge.callHandler("room.getMemberState", PromiseReturnValue.of("getMemberState", MemberState.class, promise));
+    }
+
+    /**
+     * Adds a listener for the members that join, leave, or change in the room.
+     *
+     * Unlike {@link RoomListener#onRoomStateChanged(RoomState) onRoomStateChanged}, which reports the whole member list whenever any member changes,
+     * this listener reports only the members that have changed, and the SDK decodes only those members.
+     *
+     * @note The first callback after you add the listener reports all current members of the room as joined.
+     *
+     * @param listener The callback for member changes. See {@link RoomMembersListener RoomMembersListener}.
+     */
+    public void addRoomMembersListener(RoomMembersListener listener) {
+        if (roomMembersListeners.addIfAbsent(listener)) {
+            post(() -> initializeRoomMembersListener(listener));
+        }
+    }
+
+    /**
+     * Brings the index up to date for the listeners already initialized, then reports the whole index to the new listener,
+     * so that it does not depend on what the index held before.
+     */
+    private void initializeRoomMembersListener(RoomMembersListener listener) {
+        if (!roomMembersListeners.contains(listener) || initializedRoomMembersListeners.contains(listener)) {
+            return;
+        }
+        dispatchRoomMembersChanged(syncRoomState.getSnapshot().getJson("roomMembers"));
+        initializedRoomMembersListeners.add(listener);
+        RoomMember[] members = roomMemberIndex.getMembers();
+        if (members.length > 0) {
+            listener.onRoomMembersChanged(members, new RoomMember[0], new RoomMember[0]);
+        }
+    }
+
+    /**
+     * Removes a listener added by {@link #addRoomMembersListener(RoomMembersListener) addRoomMembersListener}.
+     *
+     * @param listener The listener to remove.
+     */
+    public void removeRoomMembersListener(RoomMembersListener listener) {
+        initializedRoomMembersListeners.remove(listener);
+        if (roomMembersListeners.remove(listener) && roomMembersListeners.isEmpty()) {
+            post(() -> {
+                if (roomMembersListeners.isEmpty()) {
+                    roomMemberIndex.clear();
+                }
+            });
+        }
+    }
+
+    private void dispatchRoomMembersChanged(JsonElement roomMembers) {
+        if (roomMembersListeners.isEmpty()) {
+            return;
+        }
+        RoomMemberIndex.Delta delta = roomMemberIndex.update(roomMembers);
+        if (delta != null) {
+            for (RoomMembersListener listener : roomMembersListeners) {
+                if (initializedRoomMembersListeners.contains(listener)) {
+                    listener.onRoomMembersChanged(delta.joined, delta.left, delta.updated);
                 }
             }
-        });
+        }
     }
 
     /**
@@ -496,12 +555,13 @@ public class Room extends Displayer {
      * @note
      * - This method call is synchronous.
      * - Only users in interactive mode (with read and write permissions) are room members; users in subscription mode (with read-only permission) are not included in the member list.
+     * - The SDK returns the same `RoomMember[]` object to every caller until it changes. Treat it as read-only.
      *
      * @return The member list of the room. See {@link com.herewhite.sdk.domain.RoomMember RoomMember}.
      *
      */
     public RoomMember[] getRoomMembers() {
-        return syncRoomState.getDisplayerState().getRoomMembers();
+        return syncRoomState.getSnapshot().getProperty("roomMembers", RoomMember[].class);
     }
 
     /**
@@ -516,22 +576,7 @@ public class Room extends Displayer {
      * - An error message, if the method call fails.
      */
     public void getRoomMembers(final Promise<RoomMember[]> promise) {
-        bridge.callHandler("room.getRoomMembers", new Object[]{}, new OnReturnValue<Object>() {
-            @Override
-            public void onValue(Object o) {
-                try {
-                    promise.then(gson.fromJson(String.valueOf(o), RoomMember[].class));
-                } catch (AssertionError a) {
-                    throw a;
-                } catch (JsonSyntaxException e) {
-                    Logger.error("An JsonSyntaxException occurred while parse json from getRoomMembers", e);
-                    promise.catchEx(new SDKError(e.getMessage()));
-                } catch (Throwable e) {
-                    Logger.error("An exception occurred in getRoomMembers promise then method", e);
-                    promise.catchEx(new SDKError(e.getMessage()));
-                }
-            }
-        });
+        bridge.callHandler("room.getRoomMembers", new Object[]{}, PromiseReturnValue.of("getRoomMembers", RoomMember[].class, promise));
     }
 
     /**
@@ -543,12 +588,13 @@ public class Room extends Displayer {
      * - This method call is synchronous.
      * - You cannot get the latest view state of the user by calling this method immediately after calling {@link #setViewMode(ViewMode) setViewMode}.
      * In this case, use {@link #getBroadcastState(Promise<BroadcastState> promise) getBroadcastState}[2/2] instead.
+     * - The SDK returns the same `BroadcastState` object to every caller until it changes. Treat it as read-only.
      *
      * @return The view state of the user. See {@link com.herewhite.sdk.domain.BroadcastState BroadcastState}.
      *
      */
     public BroadcastState getBroadcastState() {
-        return syncRoomState.getDisplayerState().getBroadcastState();
+        return syncRoomState.getSnapshot().getProperty("broadcastState", BroadcastState.class);
     }
 
     /**
@@ -564,22 +610,7 @@ public class Room extends Displayer {
      * - An error message, if the method call fails.
      */
     public void getBroadcastState(final Promise<BroadcastState> promise) {
-        bridge.callHandler("room.getBroadcastState", new Object[]{}, new OnReturnValue<Object>() {
-            @Override
-            public void onValue(Object o) {
-                try {
-                    promise.then(gson.fromJson(String.valueOf(o), BroadcastState.class));
-                } catch (AssertionError a) {
-                    throw a;
-                } catch (JsonSyntaxException e) {
-                    Logger.error("An JsonSyntaxException occurred while parse json from getBroadcastState", e);
-                    promise.catchEx(new SDKError(e.getMessage()));
-                } catch (Throwable e) {
-                    Logger.error("An exception occurred in getBroadcastState promise then method", e);
-                    promise.catchEx(new SDKError(e.getMessage()));
-                }
-            }
-        });
+        bridge.callHandler("room.getBroadcastState", new Object[]{}, PromiseReturnValue.of("getBroadcastState", BroadcastState.class, promise));
     }
 
     /**
@@ -595,11 +626,12 @@ public class Room extends Displayer {
      *   - {@link #putScenes(String, Scene[], int)}
      *
      * In ths case, use {@link #getSceneState(Promise<SceneState> promise) getSceneState}[2/2] instead.
+     * - The SDK returns the same `SceneState` object to every caller until it changes. Treat it as read-only.
      *
      * @return The state of the scenes under the current scene directory. See {@link com.herewhite.sdk.domain.SceneState SceneState}.
      */
     public SceneState getSceneState() {
-        return syncRoomState.getDisplayerState().getSceneState();
+        return syncRoomState.getSnapshot().getProperty("sceneState", SceneState.class);
     }
 
     /**
@@ -618,22 +650,7 @@ public class Room extends Displayer {
      * - An error message, if the method call fails.
      */
     public void getSceneState(final Promise<SceneState> promise) {
-        bridge.callHandler("room.getSceneState", new Object[]{}, new OnReturnValue<Object>() {
-            @Override
-            public void onValue(Object o) {
-                try {
-                    promise.then(gson.fromJson(String.valueOf(o), SceneState.class));
-                } catch (AssertionError a) {
-                    throw a;
-                } catch (JsonSyntaxException e) {
-                    Logger.error("An JsonSyntaxException occurred while parse json from getSceneState", e);
-                    promise.catchEx(new SDKError(e.getMessage()));
-                } catch (Throwable e) {
-                    Logger.error("An exception occurred in getSceneState promise then method", e);
-                    promise.catchEx(new SDKError(e.getMessage()));
-                }
-            }
-        });
+        bridge.callHandler("room.getSceneState", new Object[]{}, PromiseReturnValue.of("getSceneState", SceneState.class, promise));
     }
 
     /**
@@ -671,22 +688,7 @@ public class Room extends Displayer {
      * - An error message, if the method call fails.
      */
     public void getScenes(final Promise<Scene[]> promise) {
-        bridge.callHandler("room.getScenes", new Object[]{}, new OnReturnValue<Object>() {
-            @Override
-            public void onValue(Object o) {
-                try {
-                    promise.then(gson.fromJson(String.valueOf(o), Scene[].class));
-                } catch (AssertionError a) {
-                    throw a;
-                } catch (JsonSyntaxException e) {
-                    Logger.error("An JsonSyntaxException occurred while parse json from getScenes", e);
-                    promise.catchEx(new SDKError(e.getMessage()));
-                } catch (Throwable e) {
-                    Logger.error("An exception occurred in getScenes promise then method", e);
-                    promise.catchEx(new SDKError(e.getMessage()));
-                }
-            }
-        });
+        bridge.callHandler("room.getScenes", new Object[]{}, PromiseReturnValue.of("getScenes", Scene[].class, promise));
     }
 
 
@@ -705,7 +707,7 @@ public class Room extends Displayer {
      * @return The scale of the view.
      */
     public double getZoomScale() {
-        return syncRoomState.getDisplayerState().getZoomScale();
+        return syncRoomState.getSnapshot().getProperty("zoomScale", Double.class);
     }
 
     /**
@@ -723,22 +725,7 @@ public class Room extends Displayer {
      * - An error message, if the method call fails.
      */
     public void getZoomScale(final Promise<Number> promise) {
-        bridge.callHandler("room.getZoomScale", new OnReturnValue<Object>() {
-            @Override
-            public void onValue(Object o) {
-                try {
-                    promise.then(gson.fromJson(String.valueOf(o), Number.class));
-                } catch (AssertionError a) {
-                    throw a;
-                } catch (JsonSyntaxException e) {
-                    Logger.error("An JsonSyntaxException occurred while parse json from getZoomScale", e);
-                    promise.catchEx(new SDKError(e.getMessage()));
-                } catch (Throwable e) {
-                    Logger.error("An exception occurred in getZoomScale promise then method", e);
-                    promise.catchEx(new SDKError(e.getMessage()));
-                }
-            }
-        });
+        bridge.callHandler("room.getZoomScale", PromiseReturnValue.of("getZoomScale", Number.class, promise));
     }
 
     /**
@@ -772,22 +759,7 @@ public class Room extends Displayer {
      * - An error message, if the method call fails.
      */
     public void getRoomPhase(final Promise<RoomPhase> promise) {
-        bridge.callHandler("room.getRoomPhase", new OnReturnValue<Object>() {
-            @Override
-            public void onValue(Object o) {
-                try {
-                    promise.then(RoomPhase.valueOf(String.valueOf(o)));
-                } catch (AssertionError a) {
-                    throw a;
-                } catch (JsonSyntaxException e) {
-                    Logger.error("An JsonSyntaxException occurred while parse json from getRoomPhase", e);
-                    promise.catchEx(new SDKError(e.getMessage()));
-                } catch (Throwable e) {
-                    Logger.error("An exception occurred in getRoomPhase promise then method", e);
-                    promise.catchEx(new SDKError(e.getMessage()));
-                }
-            }
-        });
+        bridge.callHandler("room.getRoomPhase", PromiseReturnValue.ofEnumName("getRoomPhase", RoomPhase.class, promise));
     }
 
     /**
@@ -799,6 +771,7 @@ public class Room extends Displayer {
      * - This method call is synchronous.
      * - You cannot get the latest room state through {@link getRoomState() getRoomState}[1/2] immediately after modifying the {@link RoomState} variables.
      * In this case, you can user {@link #getRoomState(Promise<RoomState> promise) getRoomState}[2/2] instead.
+     * - The SDK returns the same `RoomState` object to every caller until it changes. Treat it as read-only.
      *
      * @return The current room state. See {@link com.herewhite.sdk.domain.RoomState RoomState}.
      *
@@ -820,22 +793,7 @@ public class Room extends Displayer {
      * - An error message, if the method call fails.
      */
     public void getRoomState(final Promise<RoomState> promise) {
-        bridge.callHandler("room.state.getRoomState", new OnReturnValue<Object>() {
-            @Override
-            public void onValue(Object o) {
-                try {
-                    promise.then(gson.fromJson(String.valueOf(o), RoomState.class));
-                } catch (AssertionError a) {
-                    throw a;
-                } catch (JsonSyntaxException e) {
-                    Logger.error("An JsonSyntaxException occurred while parse json from getDisplayerState", e);
-                    promise.catchEx(new SDKError(e.getMessage()));
-                } catch (Throwable e) {
-                    Logger.error("An exception occurred in getDisplayerState promise then method", e);
-                    promise.catchEx(new SDKError(e.getMessage()));
-                }
-            }
-        });
+        bridge.callHandler("room.state.getRoomState", PromiseReturnValue.of("getRoomState", RoomState.class, promise));
     }
     //endregion
 
@@ -879,17 +837,7 @@ public class Room extends Displayer {
      * - An error message, if the method call fails.
      */
     public void setScenePath(String path, final Promise<Boolean> promise) {
-        bridge.callHandler("room.setScenePath", new Object[]{path}, new OnReturnValue<String>() {
-            @Override
-            public void onValue(String result) {
-                SDKError sdkError = SDKError.promiseError(result);
-                if (sdkError != null) {
-                    promise.catchEx(sdkError);
-                } else {
-                    promise.then(true);
-                }
-            }
-        });
+        bridge.callHandler("room.setScenePath", new Object[]{path}, PromiseReturnValue.ofResult("setScenePath", result -> true, promise));
     }
 
     /**
@@ -906,20 +854,7 @@ public class Room extends Displayer {
      * - An error message, if the method call fails.
      */
     public void setSceneIndex(Integer index, @Nullable final Promise<Boolean> promise) {
-        bridge.callHandler("room.setSceneIndex", new Object[]{index}, new OnReturnValue<String>() {
-            @Override
-            public void onValue(String result) {
-                if (promise == null) {
-                    return;
-                }
-                SDKError sdkError = SDKError.promiseError(result);
-                if (sdkError != null) {
-                    promise.catchEx(sdkError);
-                } else {
-                    promise.then(true);
-                }
-            }
-        });
+        bridge.callHandler("room.setSceneIndex", new Object[]{index}, PromiseReturnValue.ofResult("setSceneIndex", result -> true, promise));
     }
 
     /**
@@ -1094,26 +1029,13 @@ public class Room extends Displayer {
      * - An error message, if the method call fails.
      */
     public void setWritable(final boolean writable, @Nullable final Promise<Boolean> promise) {
-        bridge.callHandler("room.setWritable", new Object[]{writable}, new OnReturnValue<String>() {
-            @Override
-            public void onValue(String result) {
-                SDKError sdkError = SDKError.promiseError(result);
-                if (promise == null) {
-                    return;
-                }
-
-                if (sdkError != null) {
-                    promise.catchEx(sdkError);
-                } else {
-                    JsonObject jsonObject = gson.fromJson(result, JsonObject.class);
-                    Boolean isWritable = jsonObject.get("isWritable").getAsBoolean();
-                    Long ObserverId = jsonObject.get("observerId").getAsLong();
-                    setWritable(isWritable);
-                    setObserverId(ObserverId);
-                    promise.then(isWritable);
-                }
-            }
-        });
+        bridge.callHandler("room.setWritable", new Object[]{writable}, PromiseReturnValue.ofResult("setWritable", result -> {
+            Boolean isWritable = result.get("isWritable").getAsBoolean();
+            Long observerId = result.get("observerId").getAsLong();
+            setWritable(isWritable);
+            setObserverId(observerId);
+            return isWritable;
+        }, promise));
     }
 
     /**
@@ -1208,8 +1130,71 @@ public class Room extends Displayer {
      * @param eventEntry The custom event. See {@link com.herewhite.sdk.domain.AkkoEvent AkkoEvent}.
      */
     public void dispatchMagixEvent(AkkoEvent eventEntry) {
+        MagixEventBatcher batcher = magixEventBatcher;
+        if (batcher != null) {
+            batcher.offer(eventEntry);
+            return;
+        }
         bridge.callHandler("room.dispatchMagixEvent", new Object[]{eventEntry});
     }
+
+    /**
+     * Sets whether to send the customized events of {@link #dispatchMagixEvent(AkkoEvent) dispatchMagixEvent} in batches.
+     *
+     * Each customized event is a separate call to the whiteboard. Features that send dozens of events per second, such as a laser pointer,
+     * spend much of that time crossing into the WebView. With batching, the SDK collects the events and sends each batch in one call,
+     * when the batch reaches `maxBatchSize` events or `windowMillis` after its first event, whichever comes first.
+     *
+     * @note
+     * - The events are sent in the order they are dispatched.
+     * - An event can reach the whiteboard up to `windowMillis` later, and after calls to other methods made after it.
+     * Call {@link #flushMagixEvents() flushMagixEvents} to send the pending events at once, for example before switching scenes.
+     * - A batch of events is sent on its own, even if a batch opened with {@link #beginBatch() beginBatch} is pending on the same thread.
+     * With a whiteboard page that does not support batches, the events of a batch are sent one by one.
+     * - Changing the setting sends the pending events and restarts the statistics of {@link #getMagixEventBatchStats() getMagixEventBatchStats}.
+     *
+     * @param maxBatchSize The largest number of events in a batch. Set it to 1 or less to send every event at once (default).
+     * @param windowMillis The longest time (ms) an event waits for its batch.
+     */
+    public void setMagixEventBatching(int maxBatchSize, long windowMillis) {
+        MagixEventBatcher previous = magixEventBatcher;
+        magixEventBatcher = maxBatchSize > 1 ? new MagixEventBatcher(getHandler(), maxBatchSize, windowMillis, this::sendMagixEvents) : null;
+        if (previous != null) {
+            previous.flush();
+        }
+    }
+
+    /**
+     * Sends the customized events that are waiting for their batch at once, on the calling thread.
+     *
+     * See {@link #setMagixEventBatching(int, long) setMagixEventBatching}.
+     */
+    public void flushMagixEvents() {
+        MagixEventBatcher batcher = magixEventBatcher;
+        if (batcher != null) {
+            batcher.flush();
+        }
+    }
+
+    /**
+     * Gets the statistics of sending customized events in batches.
+     *
+     * @return The statistics since batching was last set with {@link #setMagixEventBatching(int, long) setMagixEventBatching},
+     * or `null` if batching is disabled. See {@link MagixEventBatchStats MagixEventBatchStats}.
+     */
+    @Nullable
+    public MagixEventBatchStats getMagixEventBatchStats() {
+        MagixEventBatcher batcher = magixEventBatcher;
+        return batcher == null ? null : batcher.getStats();
+    }
+
+    private boolean sendMagixEvents(List<AkkoEvent> events) {
+        List<Object[]> argsList = new ArrayList<>(events.size());
+        for (AkkoEvent event : events) {
+            argsList.add(new Object[]{event});
+        }
+        return callHandlerInBatch("room.dispatchMagixEvent", argsList);
+    }
     //endregion
 
     // region roomListener
@@ -1219,14 +1204,251 @@ public class Room extends Displayer {
         this.roomListener = roomCallbacks;
     }
 
-    private SyncDisplayerState.Listener<RoomState> localRoomStateListener = modifyState -> {
-        post(() -> {
-            if (roomListener != null) {
-                roomListener.onRoomStateChanged(modifyState);
-            }
-        });
-    };
+    private SyncDisplayerState.Listener<RoomState> localRoomStateListener = this::handleDisplayerStateChanged;
+
+    @Override
+    void prepareDisplayerStateChanged(SyncDisplayerState.Snapshot<?> modifyState) {
+        if (roomListener != null) {
+            modifyState.getState();
+        }
+        super.prepareDisplayerStateChanged(modifyState);
+    }
+
+    @Override
+    void dispatchDisplayerStateChanged(SyncDisplayerState.Snapshot<?> modifyState) {
+        if (roomListener != null) {
+            roomListener.onRoomStateChanged((RoomState) modifyState.getState());
+        }
+        if (modifyState.has("roomMembers")) {
+            dispatchRoomMembersChanged(modifyState.getJson("roomMembers"));
+        }
+        super.dispatchDisplayerStateChanged(modifyState);
+    }
 
+    //endregion
+
+    //region Async API
+
+    /**
+     * Leaves the room.
+     *
+     * This method is the same as {@link #disconnect(Promise) disconnect}, except that it returns a `CompletableFuture`.
+     * The future fails with a `TimeoutException` if the whiteboard does not return within the time set by {@link Displayer#setAsyncTimeout(long) setAsyncTimeout}.
+     *
+     * @note This method requires Android 7.0 (API level 24) or later.
+     *
+     * @return The `CompletableFuture<Object>` object.
+     */
+    @RequiresApi(api = Build.VERSION_CODES.N)
+    public CompletableFuture<Object> disconnectAsync() {
+        FuturePromise<Object> promise = newFuturePromise("disconnect");
+        disconnect(promise);
+        return promise.getFuture();
+    }
+
+    /**
+     * Gets the global state of the room.
+     *
+     * This method is the same as {@link #getGlobalState(Promise) getGlobalState}, except that it returns a `CompletableFuture`.
+     * The future fails with a `TimeoutException` if the whiteboard does not return within the time set by {@link Displayer#setAsyncTimeout(long) setAsyncTimeout}.
+     *
+     * @note This method requires Android 7.0 (API level 24) or later.
+     *
+     * @return The `CompletableFuture<GlobalState>` object.
+     */
+    @RequiresApi(api = Build.VERSION_CODES.N)
+    public CompletableFuture<GlobalState> getGlobalStateAsync() {
+        FuturePromise<GlobalState> promise = newFuturePromise("getGlobalState");
+        getGlobalState(promise);
+        return promise.getFuture();
+    }
+
+    /**
+     * Gets the state of the whiteboard tool currently in use.
+     *
+     * This method is the same as {@link #getMemberState(Promise) getMemberState}, except that it returns a `CompletableFuture`.
+     * The future fails with a `TimeoutException` if the whiteboard does not return within the time set by {@link Displayer#setAsyncTimeout(long) setAsyncTimeout}.
+     *
+     * @note This method requires Android 7.0 (API level 24) or later.
+     *
+     * @return The `CompletableFuture<MemberState>` object.
+     */
+    @RequiresApi(api = Build.VERSION_CODES.N)
+    public CompletableFuture<MemberState> getMemberStateAsync() {
+        FuturePromise<MemberState> promise = newFuturePromise("getMemberState");
+        getMemberState(promise);
+        return promise.getFuture();
+    }
+
+    /**
+     * Gets the list of members in the room.
+     *
+     * This method is the same as {@link #getRoomMembers(Promise) getRoomMembers}, except that it returns a `CompletableFuture`.
+     * The future fails with a `TimeoutException` if the whiteboard does not return within the time set by {@link Displayer#setAsyncTimeout(long) setAsyncTimeout}.
+     *
+     * @note This method requires Android 7.0 (API level 24) or later.
+     *
+     * @return The `CompletableFuture<RoomMember[]>` object.
+     */
+    @RequiresApi(api = Build.VERSION_CODES.N)
+    public CompletableFuture<RoomMember[]> getRoomMembersAsync() {
+        FuturePromise<RoomMember[]> promise = newFuturePromise("getRoomMembers");
+        getRoomMembers(promise);
+        return promise.getFuture();
+    }
+
+    /**
+     * Gets the view state of the user.
+     *
+     * This method is the same as {@link #getBroadcastState(Promise) getBroadcastState}, except that it returns a `CompletableFuture`.
+     * The future fails with a `TimeoutException` if the whiteboard does not return within the time set by {@link Displayer#setAsyncTimeout(long) setAsyncTimeout}.
+     *
+     * @note This method requires Android 7.0 (API level 24) or later.
+     *
+     * @return The `CompletableFuture<BroadcastState>` object.
+     */
+    @RequiresApi(api = Build.VERSION_CODES.N)
+    public CompletableFuture<BroadcastState> getBroadcastStateAsync() {
+        FuturePromise<BroadcastState> promise = newFuturePromise("getBroadcastState");
+        getBroadcastState(promise);
+        return promise.getFuture();
+    }
+
+    /**
+     * Gets the state of the scenes under the current scene directory.
+     *
+     * This method is the same as {@link #getSceneState(Promise) getSceneState}, except that it returns a `CompletableFuture`.
+     * The future fails with a `TimeoutException` if the whiteboard does not return within the time set by {@link Displayer#setAsyncTimeout(long) setAsyncTimeout}.
+     *
+     * @note This method requires Android 7.0 (API level 24) or later.
+     *
+     * @return The `CompletableFuture<SceneState>` object.
+     */
+    @RequiresApi(api = Build.VERSION_CODES.N)
+    public CompletableFuture<SceneState> getSceneStateAsync() {
+        FuturePromise<SceneState> promise = newFuturePromise("getSceneState");
+        getSceneState(promise);
+        return promise.getFuture();
+    }
+
+    /**
+     * Gets the list of scenes under the current scene directory.
+     *
+     * This method is the same as {@link #getScenes(Promise) getScenes}, except that it returns a `CompletableFuture`.
+     * The future fails with a `TimeoutException` if the whiteboard does not return within the time set by {@link Displayer#setAsyncTimeout(long) setAsyncTimeout}.
+     *
+     * @note This method requires Android 7.0 (API level 24) or later.
+     *
+     * @return The `CompletableFuture<Scene[]>` object.
+     */
+    @RequiresApi(api = Build.VERSION_CODES.N)
+    public CompletableFuture<Scene[]> getScenesAsync() {
+        FuturePromise<Scene[]> promise = newFuturePromise("getScenes");
+        getScenes(promise);
+        return promise.getFuture();
+    }
+
+    /**
+     * Gets the connection state of the room.
+     *
+     * This method is the same as {@link #getRoomPhase(Promise) getRoomPhase}, except that it returns a `CompletableFuture`.
+     * The future fails with a `TimeoutException` if the whiteboard does not return within the time set by {@link Displayer#setAsyncTimeout(long) setAsyncTimeout}.
+     *
+     * @note This method requires Android 7.0 (API level 24) or later.
+     *
+     * @return The `CompletableFuture<RoomPhase>` object.
+     */
+    @RequiresApi(api = Build.VERSION_CODES.N)
+    public CompletableFuture<RoomPhase> getRoomPhaseAsync() {
+        FuturePromise<RoomPhase> promise = newFuturePromise("getRoomPhase");
+        getRoomPhase(promise);
+        return promise.getFuture();
+    }
+
+    /**
+     * Gets the current room state.
+     *
+     * This method is the same as {@link #getRoomState(Promise) getRoomState}, except that it returns a `CompletableFuture`.
+     * The future fails with a `TimeoutException` if the whiteboard does not return within the time set by {@link Displayer#setAsyncTimeout(long) setAsyncTimeout}.
+     *
+     * @note This method requires Android 7.0 (API level 24) or later.
+     *
+     * @return The `CompletableFuture<RoomState>` object.
+     */
+    @RequiresApi(api = Build.VERSION_CODES.N)
+    public CompletableFuture<RoomState> getRoomStateAsync() {
+        FuturePromise<RoomState> promise = newFuturePromise("getRoomState");
+        getRoomState(promise);
+        return promise.getFuture();
+    }
+
+    /**
+     * Switches to the specified scene.
+     *
+     * This method is the same as {@link #setScenePath(String, Promise) setScenePath}, except that it returns a `CompletableFuture`.
+     * The future fails with a `TimeoutException` if the whiteboard does not return within the time set by {@link Displayer#setAsyncTimeout(long) setAsyncTimeout}.
+     *
+     * @note This method requires Android 7.0 (API level 24) or later.
+     *
+     * @return The `CompletableFuture<Boolean>` object.
+     */
+    @RequiresApi(api = Build.VERSION_CODES.N)
+    public CompletableFuture<Boolean> setScenePathAsync(String path) {
+        FuturePromise<Boolean> promise = newFuturePromise("setScenePath");
+        setScenePath(path, promise);
+        return promise.getFuture();
+    }
+
+    /**
+     * Switches to the specified scene under the current scene directory.
+     *
+     * This method is the same as {@link #setSceneIndex(Integer, Promise) setSceneIndex}, except that it returns a `CompletableFuture`.
+     * The future fails with a `TimeoutException` if the whiteboard does not return within the time set by {@link Displayer#setAsyncTimeout(long) setAsyncTimeout}.
+     *
+     * @note This method requires Android 7.0 (API level 24) or later.
+     *
+     * @return The `CompletableFuture<Boolean>` object.
+     */
+    @RequiresApi(api = Build.VERSION_CODES.N)
+    public CompletableFuture<Boolean> setSceneIndexAsync(Integer index) {
+        FuturePromise<Boolean> promise = newFuturePromise("setSceneIndex");
+        setSceneIndex(index, promise);
+        return promise.getFuture();
+    }
+
+    /**
+     * Sets whether the user is in interactive mode in the room.
+     *
+     * This method is the same as {@link #setWritable(boolean, Promise) setWritable}, except that it returns a `CompletableFuture`.
+     * The future fails with a `TimeoutException` if the whiteboard does not return within the time set by {@link Displayer#setAsyncTimeout(long) setAsyncTimeout}.
+     *
+     * @note This method requires Android 7.0 (API level 24) or later.
+     *
+     * @return The `CompletableFuture<Boolean>` object.
+     */
+    @RequiresApi(api = Build.VERSION_CODES.N)
+    public CompletableFuture<Boolean> setWritableAsync(boolean writable) {
+        FuturePromise<Boolean> promise = newFuturePromise("setWritable");
+        setWritable(writable, promise);
+        return promise.getFuture();
+    }
+
+    /**
+     * Gets the debug logs.
+     *
+     * This method is the same as {@link #debugInfo(Promise) debugInfo}, except that it returns a `CompletableFuture`.
+     * The future fails with a `TimeoutException` if the whiteboard does not return within the time set by {@link Displayer#setAsyncTimeout(long) setAsyncTimeout}.
+     *
+     * @note This method requires Android 7.0 (API level 24) or later.
+     *
+     * @return The `CompletableFuture<JSONObject>` object.
+     */
+    @RequiresApi(api = Build.VERSION_CODES.N)
+    public CompletableFuture<JSONObject> debugInfoAsync() {
+        FuturePromise<JSONObject> promise = newFuturePromise("debugInfo");
+        debugInfo(promise);
+        return promise.getFuture();
+    }
     //endregion
     private RoomDelegate roomDelegate;
 
@@ -1244,10 +1466,7 @@ public class Room extends Displayer {
          */
         @Override
         public void fireMagixEvent(EventEntry eventEntry) {
-            EventListener eventListener = eventListenerMap.get(eventEntry.getEventName());
-            if (eventListener != null) {
-                eventListener.onEvent(eventEntry);
-            }
+            Room.this.fireMagixEvent(eventEntry);
         }
 
         /// @cond test
@@ -1258,10 +1477,7 @@ public class Room extends Displayer {
          */
         @Override
         public void fireHighFrequencyEvent(EventEntry[] eventEntries) {
-            FrequencyEventListener eventListener = frequencyEventListenerMap.get(eventEntries[0].getEventName());
-            if (eventListener != null) {
-                eventListener.onEvent(eventEntries);
-            }
+            Room.this.fireHighFrequencyEvent(eventEntries);
         }
         /// @endcond
 
@@ -0,0 +1,123 @@
+package com.herewhite.sdk;
+
+import android.util.LongSparseArray;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.herewhite.sdk.domain.RoomMember;
+import com.herewhite.sdk.domain.WhiteGson;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hidden in documentation
+ *
+ * Keeps the decoded room members keyed by member ID, together with the JSON each one was decoded from.
+ * A new member list only decodes the members whose JSON differs from the indexed one; as the state merge
+ * keeps unchanged subtrees, that comparison is a reference check for every member that has not changed.
+ * Not thread-safe; the room updates it on the main thread.
+ */
+final class RoomMemberIndex {
+
+    private final static Gson gson = WhiteGson.get();
+    private static final RoomMember[] EMPTY_MEMBERS = new RoomMember[0];
+
+    private LongSparseArray<Entry> entries = new LongSparseArray<>();
+
+    static final class Delta {
+        final RoomMember[] joined;
+        final RoomMember[] left;
+        final RoomMember[] updated;
+
+        Delta(RoomMember[] joined, RoomMember[] left, RoomMember[] updated) {
+            this.joined = joined;
+            this.left = left;
+            this.updated = updated;
+        }
+    }
+
+    private static final class Entry {
+        final JsonElement element;
+        final RoomMember member;
+
+        Entry(JsonElement element, RoomMember member) {
+            this.element = element;
+            this.member = member;
+        }
+    }
+
+    /**
+     * @return the indexed members, in the order of their IDs.
+     */
+    RoomMember[] getMembers() {
+        RoomMember[] members = new RoomMember[entries.size()];
+        for (int i = 0; i < members.length; i++) {
+            members[i] = entries.valueAt(i).member;
+        }
+        return members;
+    }
+
+    void clear() {
+        entries = new LongSparseArray<>();
+    }
+
+    /**
+     * Replaces the indexed members with {@code roomMembers}.
+     *
+     * @return the difference to the previous members, or {@code null} if there is none.
+     */
+    Delta update(JsonElement roomMembers) {
+        LongSparseArray<Entry> previous = entries;
+        LongSparseArray<Entry> next = new LongSparseArray<>();
+        List<RoomMember> joined = null;
+        List<RoomMember> updated = null;
+
+        if (roomMembers != null && roomMembers.isJsonArray()) {
+            for (JsonElement element : roomMembers.getAsJsonArray()) {
+                JsonElement memberId = element.isJsonObject() ? ((JsonObject) element).get("memberId") : null;
+                if (memberId == null || !memberId.isJsonPrimitive()) {
+                    continue;
+                }
+                long key = memberId.getAsLong();
+                Entry entry = previous.get(key);
+                if (entry == null || !JsonFingerprint.equal(entry.element, element)) {
+                    RoomMember member = gson.fromJson(element, RoomMember.class);
+                    if (entry == null) {
+                        joined = add(joined, member);
+                    } else {
+                        updated = add(updated, member);
+                    }
+                    entry = new Entry(element, member);
+                }
+                next.put(key, entry);
+            }
+        }
+
+        List<RoomMember> left = null;
+        for (int i = 0; i < previous.size(); i++) {
+            if (next.get(previous.keyAt(i)) == null) {
+                left = add(left, previous.valueAt(i).member);
+            }
+        }
+
+        entries = next;
+        if (joined == null && left == null && updated == null) {
+            return null;
+        }
+        return new Delta(toArray(joined), toArray(left), toArray(updated));
+    }
+
+    private static List<RoomMember> add(List<RoomMember> list, RoomMember member) {
+        if (list == null) {
+            list = new ArrayList<>();
+        }
+        list.add(member);
+        return list;
+    }
+
+    private static RoomMember[] toArray(List<RoomMember> list) {
+        return list == null ? EMPTY_MEMBERS : list.toArray(new RoomMember[0]);
+    }
+}
@@ -0,0 +1,23 @@
+package com.herewhite.sdk;
+
+import com.herewhite.sdk.domain.RoomMember;
+
+/**
+ * The `RoomMembersListener` interface, which reports the members that have joined, left, or changed since the last callback.
+ *
+ * See {@link Room#addRoomMembersListener(RoomMembersListener) addRoomMembersListener}.
+ */
+public interface RoomMembersListener {
+    /**
+     * Occurs when the member list of the room changes.
+     *
+     * @note
+     * - The SDK triggers this callback on the main thread.
+     * - Each array is empty rather than `null` when it has no members.
+     *
+     * @param joined  The members that have joined the room. See {@link com.herewhite.sdk.domain.RoomMember RoomMember}.
+     * @param left    The members that have left the room.
+     * @param updated The members whose state or information has changed, for example, a member who switches to another whiteboard tool.
+     */
+    void onRoomMembersChanged(RoomMember[] joined, RoomMember[] left, RoomMember[] updated);
+}
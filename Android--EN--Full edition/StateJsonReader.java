@@ -0,0 +1,157 @@
+package com.herewhite.sdk;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.internal.LazilyParsedNumber;
+import com.google.gson.stream.JsonReader;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Hidden in documentation
+ *
+ * Reads a JSON value from a stream while comparing it with the value that is already stored.
+ * If the incoming value equals the stored one, the stored instance is returned as is;
+ * otherwise a new element is built that still shares every unchanged child with the stored value.
+ * Callers can therefore tell whether anything changed with a reference comparison, without hashing or walking the subtrees.
+ */
+final class StateJsonReader {
+
+    private StateJsonReader() {
+    }
+
+    static JsonElement read(JsonReader in, JsonElement original) throws IOException {
+        switch (in.peek()) {
+            case BEGIN_OBJECT:
+                return readObject(in, original != null && original.isJsonObject() ? original.getAsJsonObject() : null);
+            case BEGIN_ARRAY:
+                return readArray(in, original != null && original.isJsonArray() ? original.getAsJsonArray() : null);
+            case STRING: {
+                String value = in.nextString();
+                if (original != null && original.isJsonPrimitive() && original.getAsJsonPrimitive().isString()
+                        && value.equals(original.getAsString())) {
+                    return original;
+                }
+                return new JsonPrimitive(value);
+            }
+            case NUMBER: {
+                JsonPrimitive value = new JsonPrimitive(new LazilyParsedNumber(in.nextString()));
+                return value.equals(original) ? original : value;
+            }
+            case BOOLEAN: {
+                boolean value = in.nextBoolean();
+                if (original != null && original.isJsonPrimitive() && original.getAsJsonPrimitive().isBoolean()
+                        && value == original.getAsBoolean()) {
+                    return original;
+                }
+                return new JsonPrimitive(value);
+            }
+            case NULL:
+                in.nextNull();
+                return JsonNull.INSTANCE;
+            default:
+                throw new JsonSyntaxException("Unexpected token " + in.peek() + " at " + in.getPath());
+        }
+    }
+
+    private static JsonElement readObject(JsonReader in, JsonObject original) throws IOException {
+        // Walk the stored entries alongside the incoming ones; as long as names and values line up nothing is allocated.
+        Iterator<Map.Entry<String, JsonElement>> originalEntries = original == null ? null : original.entrySet().iterator();
+        JsonObject result = null;
+        int unchangedCount = 0;
+        boolean identical = original != null;
+
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            if (result == null) {
+                Map.Entry<String, JsonElement> originalEntry = originalEntries != null && originalEntries.hasNext() ? originalEntries.next() : null;
+                if (originalEntry != null && originalEntry.getKey().equals(name)) {
+                    JsonElement value = read(in, originalEntry.getValue());
+                    if (value == originalEntry.getValue()) {
+                        unchangedCount++;
+                        continue;
+                    }
+                    result = copyHead(original, unchangedCount);
+                    result.add(name, value);
+                    identical = false;
+                    continue;
+                }
+                result = copyHead(original, unchangedCount);
+            }
+
+            JsonElement originalValue = original == null ? null : original.get(name);
+            JsonElement value = read(in, originalValue);
+            if (value != originalValue) {
+                identical = false;
+            }
+            result.add(name, value);
+        }
+        in.endObject();
+
+        if (result == null) {
+            if (original != null && unchangedCount == original.size()) {
+                return original;
+            }
+            return copyHead(original, unchangedCount);
+        }
+        // Same entries in a different order.
+        if (identical && result.size() == original.size()) {
+            return original;
+        }
+        return result;
+    }
+
+    private static JsonElement readArray(JsonReader in, JsonArray original) throws IOException {
+        JsonArray result = null;
+        int index = 0;
+
+        in.beginArray();
+        while (in.hasNext()) {
+            JsonElement originalValue = original != null && index < original.size() ? original.get(index) : null;
+            JsonElement value = read(in, originalValue);
+            if (result == null && value != originalValue) {
+                result = copyHead(original, index);
+            }
+            if (result != null) {
+                result.add(value);
+            }
+            index++;
+        }
+        in.endArray();
+
+        if (result != null) {
+            return result;
+        }
+        if (original != null && index == original.size()) {
+            return original;
+        }
+        return copyHead(original, index);
+    }
+
+    private static JsonObject copyHead(JsonObject original, int count) {
+        JsonObject copy = new JsonObject();
+        if (original != null) {
+            Iterator<Map.Entry<String, JsonElement>> entries = original.entrySet().iterator();
+            for (int i = 0; i < count; i++) {
+                Map.Entry<String, JsonElement> entry = entries.next();
+                copy.add(entry.getKey(), entry.getValue());
+            }
+        }
+        return copy;
+    }
+
+    private static JsonArray copyHead(JsonArray original, int count) {
+        JsonArray copy = new JsonArray();
+        for (int i = 0; i < count; i++) {
+            copy.add(original.get(i));
+        }
+        return copy;
+    }
+}
@@ -0,0 +1,317 @@
+package com.herewhite.sdk;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonIOException;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.herewhite.sdk.domain.WhiteGson;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Hidden in documentation
+ * @param <T>
+ */
+public class SyncDisplayerState<T> {
+
+    private final static Gson gson = WhiteGson.get();
+    private final static JsonParser parser = new JsonParser();
+
+    private final Class<T> clazz;
+    private final boolean disableCallbackWhilePutting;
+
+    private PersistentStateMap stateMap;
+    private volatile Snapshot<T> snapshot;
+    private Listener<T> listener;
+
+    public SyncDisplayerState(Class<T> clazz, String stateJSON, boolean disableCallbackWhilePutting) {
+        this.clazz = clazz;
+        this.disableCallbackWhilePutting = disableCallbackWhilePutting;
+        this.syncDisplayerState(stateJSON);
+    }
+
+    public interface Listener<T> {
+        /**
+         * @param modifyState Only holds the fields that have changed; decode the whole state or single fields from it as needed.
+         */
+        void onDisplayerStateChanged(Snapshot<T> modifyState);
+    }
+
+    /**
+     * A view of the displayer state at the moment it was stored, or of the fields changed by one update.
+     *
+     * The whole state and each top-level property are decoded on first access only,
+     * so reading the same property repeatedly does not go through Gson again.
+     * Creating a snapshot costs nothing, as the map it wraps is never modified.
+     * A snapshot that follows another one keeps the decoded properties whose JSON has not changed,
+     * so, for example, the global state is decoded once per change of the global state rather than once per state sync.
+     *
+     * The decoded objects are shared: every caller gets the same instance until the JSON of the property changes.
+     * Domain objects such as {@code MemberState} are mutable, so a caller that modifies one changes what the others read;
+     * the public getters document this. The stored JSON, which the comparisons and writes use, is never affected.
+     */
+    public static final class Snapshot<T> {
+        private static final Object NULL_VALUE = new Object();
+
+        private final PersistentStateMap stateMap;
+        private final Class<T> clazz;
+        private final ConcurrentHashMap<String, Object> properties = new ConcurrentHashMap<>();
+        private volatile T state;
+
+        Snapshot(PersistentStateMap stateMap, Class<T> clazz) {
+            this.stateMap = stateMap;
+            this.clazz = clazz;
+        }
+
+        Snapshot(PersistentStateMap stateMap, Class<T> clazz, Snapshot<T> previous) {
+            this(stateMap, clazz);
+            if (previous != null) {
+                for (Map.Entry<String, Object> entry : previous.properties.entrySet()) {
+                    if (previous.stateMap.get(entry.getKey()) == stateMap.get(entry.getKey())) {
+                        properties.put(entry.getKey(), entry.getValue());
+                    }
+                }
+            }
+        }
+
+        public T getState() {
+            T result = state;
+            if (result == null) {
+                result = gson.fromJson(stateMap.toJsonObject(), clazz);
+                state = result;
+            }
+            return result;
+        }
+
+        public boolean has(String key) {
+            return stateMap.containsKey(key);
+        }
+
+        public <V> V getProperty(String key, Class<V> classOfV) {
+            return getProperty(key, classOfV, gson.getAdapter(classOfV));
+        }
+
+        /**
+         * Decodes the property with {@code typeAdapter} instead of the adapter Gson would pick for {@code classOfV}.
+         */
+        public <V> V getProperty(String key, Class<V> classOfV, TypeAdapter<? extends V> typeAdapter) {
+            Object value = properties.get(key);
+            if (value == null || (value != NULL_VALUE && !classOfV.isInstance(value))) {
+                JsonElement element = stateMap.get(key);
+                if (element == null || element.isJsonNull()) {
+                    value = NULL_VALUE;
+                } else {
+                    try {
+                        value = typeAdapter.fromJsonTree(element);
+                    } catch (JsonIOException | IllegalStateException e) {
+                        throw new JsonSyntaxException(e);
+                    }
+                    if (value == null) {
+                        value = NULL_VALUE;
+                    }
+                }
+                properties.put(key, value);
+            }
+            return value == NULL_VALUE ? null : classOfV.cast(value);
+        }
+
+        JsonElement getJson(String key) {
+            return stateMap.get(key);
+        }
+
+        /**
+         * Combines two modify states; the fields of {@code newer} replace the same fields of this one.
+         */
+        Snapshot<T> mergedWith(Snapshot<?> newer) {
+            return new Snapshot<>(stateMap.putAll(newer.stateMap), clazz);
+        }
+    }
+
+    public T getDisplayerState() {
+        return snapshot.getState();
+    }
+
+    public Snapshot<T> getSnapshot() {
+        return snapshot;
+    }
+
+    public void setListener(Listener<T> listener) {
+        this.listener = listener;
+    }
+
+    public void syncDisplayerState(String stateJSON) {
+        PersistentStateMap modifyStateJSON;
+        if (this.stateMap == null) {
+            modifyStateJSON = this.putDisplayerStateAndCompareModifyStateJSON(parser.parse(stateJSON).getAsJsonObject());
+        } else {
+            modifyStateJSON = this.mergeDisplayerStateAndCompareModifyStateJSON(stateJSON);
+        }
+        notifyModifyState(modifyStateJSON);
+    }
+
+    /**
+     * For a state that has already been parsed as part of a larger payload, such as the result of joining a room.
+     */
+    void syncDisplayerState(JsonObject stateJSON) {
+        notifyModifyState(this.putDisplayerStateAndCompareModifyStateJSON(stateJSON));
+    }
+
+    private void notifyModifyState(PersistentStateMap modifyStateJSON) {
+        if (listener != null) {
+            if (modifyStateJSON != null) {
+                this.listener.onDisplayerStateChanged(new Snapshot<>(modifyStateJSON, this.clazz));
+            }
+        }
+    }
+
+    /**
+     * Merges {@code value} into the local state.
+     *
+     * @return false if the local state already holds an equal value, so that writing it to the JS side changes nothing;
+     * true if the value changed, or if the key is not in the local state yet and the comparison cannot be made.
+     */
+    public boolean putProperty(String key, Object value) {
+        return putDisplayerStateProperty(key, value);
+    }
+
+    public boolean putDisplayerStateProperty(String key, Object value) {
+        JsonElement originalValue = this.stateMap.get(key);
+
+        if (originalValue == null) {
+            return true;
+        }
+        JsonElement newValue = assignObject(originalValue, gson.toJsonTree(value));
+
+        if (compareJson(originalValue, newValue)) {
+            return false;
+        }
+        setStateMap(this.stateMap.put(key, newValue));
+
+        if (!this.disableCallbackWhilePutting && this.listener != null) {
+            PersistentStateMap modifyStateJSON = PersistentStateMap.EMPTY.put(key, newValue);
+            this.listener.onDisplayerStateChanged(new Snapshot<>(modifyStateJSON, this.clazz));
+        }
+        return true;
+    }
+
+    private void setStateMap(PersistentStateMap stateMap) {
+        this.stateMap = stateMap;
+        this.snapshot = new Snapshot<>(stateMap, clazz, this.snapshot);
+    }
+
+    /**
+     * Reads the payload with a JsonReader and only touches the keys present in it.
+     * Values equal to the stored ones come back as the stored instances, so an unchanged key costs no allocation
+     * and a changed key only allocates the subtrees that differ.
+     */
+    private PersistentStateMap mergeDisplayerStateAndCompareModifyStateJSON(String stateJSON) {
+        PersistentStateMap newStateMap = this.stateMap;
+        PersistentStateMap checkedModifyStateJSON = null;
+
+        JsonReader reader = new JsonReader(new StringReader(stateJSON));
+        reader.setLenient(true);
+        try {
+            reader.beginObject();
+            while (reader.hasNext()) {
+                String key = reader.nextName();
+                JsonElement originalValue = newStateMap.get(key);
+                JsonElement newValue = StateJsonReader.read(reader, originalValue);
+                if (newValue != originalValue) {
+                    if (checkedModifyStateJSON == null) {
+                        checkedModifyStateJSON = PersistentStateMap.EMPTY;
+                    }
+                    checkedModifyStateJSON = checkedModifyStateJSON.put(key, newValue);
+                    newStateMap = newStateMap.put(key, newValue);
+                }
+            }
+            reader.endObject();
+        } catch (IOException e) {
+            throw new JsonSyntaxException(e);
+        }
+
+        if (checkedModifyStateJSON != null) {
+            setStateMap(newStateMap);
+        }
+        return checkedModifyStateJSON;
+    }
+
+    private PersistentStateMap putDisplayerStateAndCompareModifyStateJSON(JsonObject modifyStateJSON) {
+
+        if (this.stateMap == null) {
+            setStateMap(PersistentStateMap.of(modifyStateJSON));
+            return null;
+
+        } else {
+            PersistentStateMap newStateMap = this.stateMap;
+            PersistentStateMap checkedModifyStateJSON = null;
+
+            for (Map.Entry<String, JsonElement> entry : modifyStateJSON.entrySet()) {
+                String key = entry.getKey();
+                JsonElement originalValue = this.stateMap.get(key);
+                JsonElement newValue = entry.getValue();
+
+                if (!compareJson(originalValue, newValue)) {
+                    if (checkedModifyStateJSON == null) {
+                        checkedModifyStateJSON = PersistentStateMap.EMPTY;
+                    }
+                    checkedModifyStateJSON = checkedModifyStateJSON.put(key, newValue);
+                }
+                newStateMap = newStateMap.put(key, newValue);
+            }
+            setStateMap(newStateMap);
+
+            return checkedModifyStateJSON;
+        }
+    }
+
+    /**
+     * Shallowly assigns the entries of {@code value2} onto {@code value1}.
+     * Returns {@code value1} itself when that changes nothing, so no copy is made for a redundant put.
+     */
+    private static JsonElement assignObject(JsonElement value1, JsonElement value2) {
+        if (!value1.isJsonObject() || !value2.isJsonObject()) {
+            return value2;
+        } else {
+            JsonObject object1 = (JsonObject) value1;
+            JsonObject object2 = (JsonObject) value2;
+            if (!changesAnyEntry(object1, object2)) {
+                return object1;
+            }
+            JsonObject newObject = new JsonObject();
+
+            for (String key: object1.keySet()) {
+                if (object2.has(key)) {
+                    newObject.add(key, object2.get(key));
+                } else {
+                    newObject.add(key, object1.get(key));
+                }
+            }
+            for (String key: object2.keySet()) {
+                if (!newObject.has(key)) {
+                    newObject.add(key, object2.get(key));
+                }
+            }
+            return newObject;
+        }
+    }
+
+    private static boolean changesAnyEntry(JsonObject object1, JsonObject object2) {
+        for (Map.Entry<String, JsonElement> entry : object2.entrySet()) {
+            if (!compareJson(object1.get(entry.getKey()), entry.getValue())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean compareJson(JsonElement json1, JsonElement json2) {
+        return JsonFingerprint.equal(json1, json2);
+    }
+}
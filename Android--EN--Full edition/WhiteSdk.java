@@ -1,6 +1,9 @@
 package com.herewhite.sdk;
 
 import android.content.Context;
+import android.os.Build;
+import android.os.Handler;
+import android.os.Looper;
 
 import com.google.gson.Gson;
 import com.google.gson.JsonObject;
@@ -11,21 +14,27 @@ import com.herewhite.sdk.domain.Promise;
 import com.herewhite.sdk.domain.RoomPhase;
 import com.herewhite.sdk.domain.SDKError;
 import com.herewhite.sdk.domain.UrlInterrupter;
+import com.herewhite.sdk.domain.WhiteGson;
+import com.herewhite.sdk.internal.PlayerDelegate;
 import com.herewhite.sdk.internal.PlayerJsInterfaceImpl;
+import com.herewhite.sdk.internal.RoomDelegate;
 import com.herewhite.sdk.internal.RoomJsInterfaceImpl;
 import com.herewhite.sdk.internal.RtcJsInterfaceImpl;
 import com.herewhite.sdk.internal.SdkJsInterfaceImpl;
 
 import org.json.JSONObject;
 
+import java.util.concurrent.CompletableFuture;
+
 import androidx.annotation.Nullable;
+import androidx.annotation.RequiresApi;
 import wendu.dsbridge.OnReturnValue;
 
 /**
  * The `WhiteSdk` class.
  */
 public class WhiteSdk {
-    private final static Gson gson = new Gson();
+    private final static Gson gson = WhiteGson.get();
 
     private final JsBridgeInterface bridge;
     private final RoomJsInterfaceImpl roomJsInterface;
@@ -34,6 +43,13 @@ public class WhiteSdk {
     private RtcJsInterfaceImpl rtcJsInterface;
 
     private final int densityDpi;
+    @Nullable
+    private final BridgeMetrics bridgeMetrics;
+    @Nullable
+    private final BridgeRecorder bridgeRecorder;
+
+    private final Handler handler = new Handler(Looper.getMainLooper());
+    private volatile long asyncTimeoutMillis = Displayer.DEFAULT_ASYNC_TIMEOUT_MILLIS;
 
     /**
      * Sets common event callbacks.
@@ -60,6 +76,41 @@ public class WhiteSdk {
     @Nullable
     private AudioMixerImplement audioMixerImplement;
 
+    /**
+     * Gets the metrics of the calls between the SDK and the whiteboard page.
+     *
+     * @return The {@link BridgeMetrics} instance, or `null` if the metrics are not enabled with
+     * {@link WhiteSdkConfiguration#setEnableBridgeMetrics(boolean) setEnableBridgeMetrics}.
+     */
+    @Nullable
+    public BridgeMetrics getBridgeMetrics() {
+        return bridgeMetrics;
+    }
+
+    /**
+     * Gets the recorder of the calls between the SDK and the whiteboard page.
+     *
+     * @return The {@link BridgeRecorder} instance, or `null` if the recording is not enabled with
+     * {@link WhiteSdkConfiguration#setEnableBridgeRecording(boolean) setEnableBridgeRecording}.
+     */
+    @Nullable
+    public BridgeRecorder getBridgeRecorder() {
+        return bridgeRecorder;
+    }
+
+    /**
+     * Sets the time within which the whiteboard must return the result of a method that returns a `CompletableFuture`,
+     * such as {@link #joinRoomAsync(RoomParams, RoomListener) joinRoomAsync}.
+     *
+     * The `Room` and `Player` instances created afterwards start with the same time. You can change it for each instance
+     * with {@link Displayer#setAsyncTimeout(long) setAsyncTimeout}.
+     *
+     * @param timeoutMillis The time (ms). The default value is {@link Displayer#DEFAULT_ASYNC_TIMEOUT_MILLIS}. Set it to `0` to wait without a time limit.
+     */
+    public void setAsyncTimeout(long timeoutMillis) {
+        this.asyncTimeoutMillis = timeoutMillis;
+    }
+
     /**
      * Gets the SDK version number.
      *
@@ -127,6 +178,18 @@ public class WhiteSdk {
      * When you use the Agora RTC SDK and Interactive Whiteboard SDK at the same time, and the dynamic PPT displayed in the whiteboard contains audio files, you can call the `AudioMixerBridge` interface to play the audio in the dynamic PPT using the Agora RTC SDK interface.
      */
     public WhiteSdk(JsBridgeInterface bridge, Context context, WhiteSdkConfiguration whiteSdkConfiguration, @Nullable CommonCallback commonCallback, @Nullable AudioMixerBridge audioMixerBridge) {
+        if (whiteSdkConfiguration.isEnableBridgeRecording()) {
+            bridgeRecorder = new BridgeRecorder();
+            bridge = new RecordingBridge(bridge, bridgeRecorder);
+        } else {
+            bridgeRecorder = null;
+        }
+        if (whiteSdkConfiguration.isEnableBridgeMetrics()) {
+            bridgeMetrics = new BridgeMetrics();
+            bridge = new InstrumentedBridge(bridge, bridgeMetrics);
+        } else {
+            bridgeMetrics = null;
+        }
         this.bridge = bridge;
         densityDpi = Utils.getDensityDpi(context);
         roomJsInterface = new RoomJsInterfaceImpl();
@@ -179,27 +242,21 @@ public class WhiteSdk {
     public void joinRoom(final RoomParams roomParams, final RoomListener roomListener, final Promise<Room> roomPromise) {
         Room room = new Room(roomParams.getUuid(), bridge, densityDpi, onlyCallbackRemoteStateModify);
         room.setRoomListener(roomListener);
-        roomJsInterface.setRoom(room.getRoomDelegate());
+        room.setAsyncTimeout(asyncTimeoutMillis);
+        roomJsInterface.setRoom(wrapDelegate(room.getRoomDelegate()));
 
         try {
-            bridge.callHandler("sdk.joinRoom", new Object[]{roomParams}, (OnReturnValue<String>) roomString -> {
-                JsonObject jsonObject = gson.fromJson(roomString, JsonObject.class);
-                SDKError promiseError = SDKError.promiseError(jsonObject);
-                if (promiseError != null) {
-                    roomPromise.catchEx(promiseError);
-                } else {
-                    JsonObject jsonState = jsonObject.getAsJsonObject("state");
-                    Long observerId = jsonObject.get("observerId").getAsLong();
-                    Boolean isWritable = jsonObject.get("isWritable").getAsBoolean();
-
-                    room.setSyncRoomState(jsonState.toString());
-                    room.setObserverId(observerId);
-                    room.setWritable(isWritable);
-                    room.setRoomPhase(RoomPhase.connected);
-
-                    roomPromise.then(room);
-                }
-            });
+            bridge.callHandler("sdk.joinRoom", new Object[]{roomParams}, PromiseReturnValue.ofResult("joinRoom", result -> {
+                JsonObject jsonState = result.getAsJsonObject("state");
+                Long observerId = result.get("observerId").getAsLong();
+                Boolean isWritable = result.get("isWritable").getAsBoolean();
+
+                room.setSyncRoomState(jsonState);
+                room.setObserverId(observerId);
+                room.setWritable(isWritable);
+                room.setRoomPhase(RoomPhase.connected);
+                return room;
+            }, roomPromise));
         } catch (AssertionError a) {
             throw a;
         } catch (Exception e) {
@@ -207,6 +264,26 @@ public class WhiteSdk {
         }
     }
 
+    private RoomDelegate wrapDelegate(RoomDelegate delegate) {
+        if (bridgeRecorder != null) {
+            delegate = new RecordingRoomDelegate(delegate, bridgeRecorder);
+        }
+        if (bridgeMetrics != null) {
+            delegate = new InstrumentedRoomDelegate(delegate, bridgeMetrics);
+        }
+        return delegate;
+    }
+
+    private PlayerDelegate wrapDelegate(PlayerDelegate delegate) {
+        if (bridgeRecorder != null) {
+            delegate = new RecordingPlayerDelegate(delegate, bridgeRecorder);
+        }
+        if (bridgeMetrics != null) {
+            delegate = new InstrumentedPlayerDelegate(delegate, bridgeMetrics);
+        }
+        return delegate;
+    }
+
     /**
      * Creates a `Player` instance, which is used to replay the whiteboard content of a live Interactive Whiteboard room.
      *
@@ -231,24 +308,19 @@ public class WhiteSdk {
     public void createPlayer(final PlayerConfiguration playerConfiguration, final PlayerListener listener, final Promise<Player> playerPromise) {
         Player player = new Player(playerConfiguration.getRoom(), bridge, densityDpi);
         player.setPlayerEventListener(listener);
-        playerJsInterface.setPlayer(player.getDelegate());
+        player.setAsyncTimeout(asyncTimeoutMillis);
+        playerJsInterface.setPlayer(wrapDelegate(player.getDelegate()));
 
         try {
             bridge.callHandler("sdk.replayRoom", new Object[]{
                     playerConfiguration
-            }, (OnReturnValue<String>) playString -> {
-                JsonObject jsonObject = gson.fromJson(playString, JsonObject.class);
-                SDKError promiseError = SDKError.promiseError(jsonObject);
-                if (promiseError != null) {
-                    playerPromise.catchEx(promiseError);
-                } else {
-                    JsonObject timeInfo = jsonObject.getAsJsonObject("timeInfo");
-                    PlayerTimeInfo playerTimeInfo = gson.fromJson(timeInfo.toString(), PlayerTimeInfo.class);
-
-                    player.setPlayerTimeInfo(playerTimeInfo);
-                    playerPromise.then(player);
-                }
-            });
+            }, PromiseReturnValue.ofResult("createPlayer", result -> {
+                JsonObject timeInfo = result.getAsJsonObject("timeInfo");
+                PlayerTimeInfo playerTimeInfo = gson.fromJson(timeInfo, PlayerTimeInfo.class);
+
+                player.setPlayerTimeInfo(playerTimeInfo);
+                return player;
+            }, playerPromise));
         } catch (AssertionError a) {
             throw a;
         } catch (Exception e) {
@@ -267,12 +339,7 @@ public class WhiteSdk {
      * - `false`, if the method call fails.
      */
     public void isPlayable(final PlayerConfiguration playerConfiguration, final Promise<Boolean> playablePromise) {
-        bridge.callHandler("sdk.isPlayable", new Object[]{playerConfiguration}, new OnReturnValue<Boolean>() {
-            @Override
-            public void onValue(Boolean retValue) {
-                playablePromise.then(retValue);
-            }
-        });
+        bridge.callHandler("sdk.isPlayable", new Object[]{playerConfiguration}, PromiseReturnValue.of("isPlayable", Boolean.class, playablePromise));
     }
 
     /**
@@ -329,6 +396,74 @@ public class WhiteSdk {
         });
     }
 
+    /**
+     * Joins the live Interactive Whiteboard room.
+     *
+     * This method is the same as {@link #joinRoom(RoomParams, RoomListener, Promise) joinRoom}, except that it returns a `CompletableFuture`.
+     * The future fails with a `TimeoutException` if the whiteboard does not return within the time set by {@link #setAsyncTimeout(long) setAsyncTimeout}.
+     *
+     * @note This method requires Android 7.0 (API level 24) or later.
+     *
+     * @return The `CompletableFuture<Room>` object.
+     */
+    @RequiresApi(api = Build.VERSION_CODES.N)
+    public CompletableFuture<Room> joinRoomAsync(final RoomParams roomParams, final RoomListener roomListener) {
+        FuturePromise<Room> promise = new FuturePromise<>(handler, "joinRoom", asyncTimeoutMillis);
+        joinRoom(roomParams, roomListener, promise);
+        return promise.getFuture();
+    }
+
+    /**
+     * Creates a `Player` instance, which is used to replay the whiteboard content of a live Interactive Whiteboard room.
+     *
+     * This method is the same as {@link #createPlayer(PlayerConfiguration, PlayerListener, Promise) createPlayer}, except that it returns a `CompletableFuture`.
+     * The future fails with a `TimeoutException` if the whiteboard does not return within the time set by {@link #setAsyncTimeout(long) setAsyncTimeout}.
+     *
+     * @note This method requires Android 7.0 (API level 24) or later.
+     *
+     * @return The `CompletableFuture<Player>` object.
+     */
+    @RequiresApi(api = Build.VERSION_CODES.N)
+    public CompletableFuture<Player> createPlayerAsync(final PlayerConfiguration playerConfiguration, final PlayerListener listener) {
+        FuturePromise<Player> promise = new FuturePromise<>(handler, "createPlayer", asyncTimeoutMillis);
+        createPlayer(playerConfiguration, listener, promise);
+        return promise.getFuture();
+    }
+
+    /**
+     * Checks whether the room has playback data.
+     *
+     * This method is the same as {@link #isPlayable(PlayerConfiguration, Promise) isPlayable}, except that it returns a `CompletableFuture`.
+     * The future fails with a `TimeoutException` if the whiteboard does not return within the time set by {@link #setAsyncTimeout(long) setAsyncTimeout}.
+     *
+     * @note This method requires Android 7.0 (API level 24) or later.
+     *
+     * @return The `CompletableFuture<Boolean>` object.
+     */
+    @RequiresApi(api = Build.VERSION_CODES.N)
+    public CompletableFuture<Boolean> isPlayableAsync(final PlayerConfiguration playerConfiguration) {
+        FuturePromise<Boolean> promise = new FuturePromise<>(handler, "isPlayable", asyncTimeoutMillis);
+        isPlayable(playerConfiguration, promise);
+        return promise.getFuture();
+    }
+
+    /**
+     * Declares the fonts that can be used in the local whiteboard and preloads them.
+     *
+     * This method is the same as {@link #loadFontFaces(FontFace[], Promise) loadFontFaces}, except that it returns a `CompletableFuture`.
+     * The future fails with a `TimeoutException` if the whiteboard does not return within the time set by {@link #setAsyncTimeout(long) setAsyncTimeout}.
+     *
+     * @note This method requires Android 7.0 (API level 24) or later.
+     *
+     * @return The `CompletableFuture<JSONObject>` object.
+     */
+    @RequiresApi(api = Build.VERSION_CODES.N)
+    public CompletableFuture<JSONObject> loadFontFacesAsync(FontFace[] fontFaces) {
+        FuturePromise<JSONObject> promise = new FuturePromise<>(handler, "loadFontFaces", asyncTimeoutMillis);
+        loadFontFaces(fontFaces, promise);
+        return promise.getFuture();
+    }
+
     /**
      * Sets the fonts used by the text tool in the local whiteboard.
      *
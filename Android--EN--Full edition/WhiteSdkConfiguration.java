@@ -543,4 +543,59 @@ public class WhiteSdkConfiguration extends WhiteObject {
     }
 
     private boolean enableImgErrorCallback;
+
+    /**
+     * Gets whether the SDK records metrics of the calls between the SDK and the whiteboard page.
+     *
+     * @return Whether the SDK records the metrics:
+     * - `true`: Record the metrics.
+     * - `false`: Do not record the metrics.
+     */
+    public boolean isEnableBridgeMetrics() {
+        return enableBridgeMetrics;
+    }
+
+    /**
+     * Sets whether the SDK records metrics of the calls between the SDK and the whiteboard page.
+     *
+     * After you enable the metrics, get them with {@link WhiteSdk#getBridgeMetrics() getBridgeMetrics}.
+     *
+     * @note Recording the metrics serializes the arguments of every call once more to measure their size. Enable it only when you need the metrics.
+     *
+     * @param enableBridgeMetrics Whether to record the metrics:
+     * - `true`: Record the metrics.
+     * - `false`: (Default) Do not record the metrics.
+     */
+    public void setEnableBridgeMetrics(boolean enableBridgeMetrics) {
+        this.enableBridgeMetrics = enableBridgeMetrics;
+    }
+
+    private transient boolean enableBridgeMetrics;
+
+    /**
+     * Gets whether the SDK can record the calls between the SDK and the whiteboard page.
+     *
+     * @return Whether the SDK can record the calls:
+     * - `true`: The calls can be recorded.
+     * - `false`: The calls cannot be recorded.
+     */
+    public boolean isEnableBridgeRecording() {
+        return enableBridgeRecording;
+    }
+
+    /**
+     * Sets whether the SDK can record the calls between the SDK and the whiteboard page.
+     *
+     * After you enable it, start and stop the recording with the {@link BridgeRecorder} instance that you get with
+     * {@link WhiteSdk#getBridgeRecorder() getBridgeRecorder}, and replay it with {@link BridgeReplayer}.
+     *
+     * @param enableBridgeRecording Whether the SDK can record the calls:
+     * - `true`: The calls can be recorded.
+     * - `false`: (Default) The calls cannot be recorded.
+     */
+    public void setEnableBridgeRecording(boolean enableBridgeRecording) {
+        this.enableBridgeRecording = enableBridgeRecording;
+    }
+
+    private transient boolean enableBridgeRecording;
 }
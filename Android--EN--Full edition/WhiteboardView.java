@@ -3,10 +3,28 @@ package com.herewhite.sdk;
 import android.content.Context;
 import android.content.res.Configuration;
 import android.graphics.Bitmap;
+import android.net.Uri;
 import android.os.Build;
+import android.os.Message;
+import android.os.SystemClock;
 import android.util.AttributeSet;
+import android.view.View;
+import android.webkit.ConsoleMessage;
+import android.webkit.GeolocationPermissions;
+import android.webkit.JsPromptResult;
+import android.webkit.JsResult;
+import android.webkit.PermissionRequest;
+import android.webkit.ValueCallback;
 import android.webkit.WebChromeClient;
+import android.webkit.WebView;
 
+import com.herewhite.sdk.internal.Logger;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import androidx.annotation.Nullable;
+import androidx.annotation.RequiresApi;
 import wendu.dsbridge.DWebView;
 import wendu.dsbridge.OnReturnValue;
 
@@ -16,9 +34,23 @@ import wendu.dsbridge.OnReturnValue;
  */
 public class WhiteboardView extends DWebView implements JsBridgeInterface {
 
+    /**
+     * The default maximum number of calls that the whiteboard view queues while the whiteboard page is loading.
+     * See {@link #setPendingCallLimit(int) setPendingCallLimit}.
+     */
+    public static final int DEFAULT_PENDING_CALL_LIMIT = 512;
+
     private boolean autoResize = true;
     private RefreshViewSizeStrategy delayStrategy;
 
+    private final Object pendingCallsLock = new Object();
+    private ArrayDeque<PendingCall> pendingCalls = new ArrayDeque<>();
+    private int pendingCallLimit = DEFAULT_PENDING_CALL_LIMIT;
+    private int queuedCallCount;
+    private long pageLoadStartTime;
+    private long pageLoadMillis = -1;
+    private final CopyOnWriteArrayList<BridgeReadyListener> bridgeReadyListeners = new CopyOnWriteArrayList<>();
+
     /**
      * Initializes the whiteboard view.
      *
@@ -80,16 +112,150 @@ public class WhiteboardView extends DWebView implements JsBridgeInterface {
 
     private void init() {
         getSettings().setMediaPlaybackRequiresUserGesture(false);
+        pageLoadStartTime = SystemClock.elapsedRealtime();
         loadUrl("file:///android_asset/whiteboard/index.html");
-        setWebChromeClient(new FixWebChromeClient());
+        setWebChromeClient(new FixWebChromeClient(null));
         delayStrategy = new RefreshViewSizeStrategy(100);
     }
 
+    /**
+     * Gets whether the whiteboard page has loaded.
+     *
+     * Until the page has loaded, the whiteboard view queues the calls made through it, such as creating the `WhiteSdk` instance
+     * and joining a room, and sends them in order as soon as the page has loaded.
+     * So you do not need to wait for the page before creating the `WhiteSdk` instance,
+     * and can fetch the room token while the page is loading.
+     *
+     * @return Whether the whiteboard page has loaded:
+     * - `true`: Loaded. Calls are sent to the whiteboard right away.
+     * - `false`: Loading. Calls are queued.
+     */
+    public boolean isBridgeReady() {
+        synchronized (pendingCallsLock) {
+            return pendingCalls == null;
+        }
+    }
+
+    /**
+     * Adds a listener for the moment the whiteboard page has loaded.
+     *
+     * If the page has already loaded, the SDK triggers the callback right away on the main thread.
+     *
+     * @param listener The callback. See {@link BridgeReadyListener BridgeReadyListener}.
+     */
+    public void addBridgeReadyListener(final BridgeReadyListener listener) {
+        synchronized (pendingCallsLock) {
+            if (pendingCalls != null) {
+                bridgeReadyListeners.addIfAbsent(listener);
+                return;
+            }
+        }
+        post(() -> listener.onBridgeReady(pageLoadMillis, queuedCallCount));
+    }
+
+    /**
+     * Removes a listener added by {@link #addBridgeReadyListener(BridgeReadyListener) addBridgeReadyListener}.
+     *
+     * @param listener The callback to remove.
+     */
+    public void removeBridgeReadyListener(BridgeReadyListener listener) {
+        bridgeReadyListeners.remove(listener);
+    }
+
+    /**
+     * Sets the maximum number of calls that the whiteboard view queues while the whiteboard page is loading.
+     *
+     * When the limit is reached, the queued calls are handed to the page in order without waiting any longer,
+     * and the page runs them once it has loaded.
+     *
+     * @param limit The maximum number of queued calls. The default value is {@link #DEFAULT_PENDING_CALL_LIMIT}.
+     */
+    public void setPendingCallLimit(int limit) {
+        synchronized (pendingCallsLock) {
+            pendingCallLimit = limit;
+        }
+    }
+
+    /**
+     * Gets the time (ms) the whiteboard page took to load.
+     *
+     * @return The time from the start of loading the whiteboard page to the moment it has loaded, or `-1` if the page is still loading.
+     */
+    public long getPageLoadMillis() {
+        return pageLoadMillis;
+    }
+
+    private static final class PendingCall {
+        final String method;
+        final Object[] args;
+        final OnReturnValue<?> handler;
+
+        PendingCall(String method, Object[] args, OnReturnValue<?> handler) {
+            this.method = method;
+            this.args = args;
+            this.handler = handler;
+        }
+    }
+
     @Override
     public <T> void callHandler(String method, Object[] args, OnReturnValue<T> handler) {
+        synchronized (pendingCallsLock) {
+            if (pendingCalls != null) {
+                if (pendingCalls.size() < pendingCallLimit) {
+                    pendingCalls.add(new PendingCall(method, args, handler));
+                    queuedCallCount++;
+                    return;
+                }
+                Logger.error("More than " + pendingCallLimit + " calls are made before the whiteboard page has loaded", null);
+                sendPendingCalls();
+            }
+        }
+        sendCall(method, args, handler);
+    }
+
+    private <T> void sendCall(String method, Object[] args, OnReturnValue<T> handler) {
         super.callHandler(method, Utils.toBridgeMaps(args), handler);
     }
 
+    /**
+     * Sends the queued calls in order. Called with {@link #pendingCallsLock} held, so no call can overtake them.
+     */
+    private void sendPendingCalls() {
+        PendingCall call;
+        while ((call = pendingCalls.poll()) != null) {
+            sendCall(call.method, call.args, call.handler);
+        }
+    }
+
+    private void onBridgeReady() {
+        synchronized (pendingCallsLock) {
+            if (pendingCalls == null) {
+                return;
+            }
+            sendPendingCalls();
+            pendingCalls = null;
+            pageLoadMillis = SystemClock.elapsedRealtime() - pageLoadStartTime;
+        }
+        for (BridgeReadyListener listener : bridgeReadyListeners) {
+            listener.onBridgeReady(pageLoadMillis, queuedCallCount);
+        }
+        bridgeReadyListeners.clear();
+    }
+
+    /// @cond test
+    /**
+     * Hidden in documentation
+     *
+     * The whiteboard view learns that the page has loaded from its own `WebChromeClient`.
+     * A client set by the application is wrapped in it, so the page load is still tracked,
+     * and every callback is forwarded to the application's client.
+     */
+    @Override
+    public void setWebChromeClient(WebChromeClient client) {
+        super.setWebChromeClient(client instanceof FixWebChromeClient ? client : new FixWebChromeClient(client));
+    }
+    /// @endcond
+
     @Override
     public void callHandler(String method, Object[] args) {
         this.callHandler(method, args, null);
@@ -105,9 +271,188 @@ public class WhiteboardView extends DWebView implements JsBridgeInterface {
         requestFocus();
     }
 
+    /**
+     * Tracks the page load and forwards every callback to the client set by the application, if any.
+     */
     class FixWebChromeClient extends WebChromeClient {
+        @Nullable
+        private final WebChromeClient delegate;
+
+        FixWebChromeClient(@Nullable WebChromeClient delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void onProgressChanged(WebView view, int newProgress) {
+            if (delegate != null) {
+                delegate.onProgressChanged(view, newProgress);
+            } else {
+                super.onProgressChanged(view, newProgress);
+            }
+            if (newProgress == 100) {
+                onBridgeReady();
+            }
+        }
+
+        @Override
+        public void onReceivedTitle(WebView view, String title) {
+            if (delegate != null) {
+                delegate.onReceivedTitle(view, title);
+            } else {
+                super.onReceivedTitle(view, title);
+            }
+        }
+
+        @Override
+        public void onReceivedIcon(WebView view, Bitmap icon) {
+            if (delegate != null) {
+                delegate.onReceivedIcon(view, icon);
+            } else {
+                super.onReceivedIcon(view, icon);
+            }
+        }
+
+        @Override
+        public void onReceivedTouchIconUrl(WebView view, String url, boolean precomposed) {
+            if (delegate != null) {
+                delegate.onReceivedTouchIconUrl(view, url, precomposed);
+            } else {
+                super.onReceivedTouchIconUrl(view, url, precomposed);
+            }
+        }
+
+        @Override
+        public void onShowCustomView(View view, CustomViewCallback callback) {
+            if (delegate != null) {
+                delegate.onShowCustomView(view, callback);
+            } else {
+                super.onShowCustomView(view, callback);
+            }
+        }
+
+        @Override
+        public void onHideCustomView() {
+            if (delegate != null) {
+                delegate.onHideCustomView();
+            } else {
+                super.onHideCustomView();
+            }
+        }
+
+        @Override
+        public boolean onCreateWindow(WebView view, boolean isDialog, boolean isUserGesture, Message resultMsg) {
+            return delegate != null ? delegate.onCreateWindow(view, isDialog, isUserGesture, resultMsg)
+                    : super.onCreateWindow(view, isDialog, isUserGesture, resultMsg);
+        }
+
+        @Override
+        public void onRequestFocus(WebView view) {
+            if (delegate != null) {
+                delegate.onRequestFocus(view);
+            } else {
+                super.onRequestFocus(view);
+            }
+        }
+
+        @Override
+        public void onCloseWindow(WebView window) {
+            if (delegate != null) {
+                delegate.onCloseWindow(window);
+            } else {
+                super.onCloseWindow(window);
+            }
+        }
+
+        @Override
+        public boolean onJsAlert(WebView view, String url, String message, JsResult result) {
+            return delegate != null ? delegate.onJsAlert(view, url, message, result) : super.onJsAlert(view, url, message, result);
+        }
+
+        @Override
+        public boolean onJsConfirm(WebView view, String url, String message, JsResult result) {
+            return delegate != null ? delegate.onJsConfirm(view, url, message, result) : super.onJsConfirm(view, url, message, result);
+        }
+
+        @Override
+        public boolean onJsPrompt(WebView view, String url, String message, String defaultValue, JsPromptResult result) {
+            return delegate != null ? delegate.onJsPrompt(view, url, message, defaultValue, result)
+                    : super.onJsPrompt(view, url, message, defaultValue, result);
+        }
+
+        @Override
+        public boolean onJsBeforeUnload(WebView view, String url, String message, JsResult result) {
+            return delegate != null ? delegate.onJsBeforeUnload(view, url, message, result) : super.onJsBeforeUnload(view, url, message, result);
+        }
+
+        @Override
+        public void onGeolocationPermissionsShowPrompt(String origin, GeolocationPermissions.Callback callback) {
+            if (delegate != null) {
+                delegate.onGeolocationPermissionsShowPrompt(origin, callback);
+            } else {
+                super.onGeolocationPermissionsShowPrompt(origin, callback);
+            }
+        }
+
+        @Override
+        public void onGeolocationPermissionsHidePrompt() {
+            if (delegate != null) {
+                delegate.onGeolocationPermissionsHidePrompt();
+            } else {
+                super.onGeolocationPermissionsHidePrompt();
+            }
+        }
+
+        @Override
+        @RequiresApi(api = Build.VERSION_CODES.LOLLIPOP)
+        public void onPermissionRequest(PermissionRequest request) {
+            if (delegate != null) {
+                delegate.onPermissionRequest(request);
+            } else {
+                super.onPermissionRequest(request);
+            }
+        }
+
+        @Override
+        @RequiresApi(api = Build.VERSION_CODES.LOLLIPOP)
+        public void onPermissionRequestCanceled(PermissionRequest request) {
+            if (delegate != null) {
+                delegate.onPermissionRequestCanceled(request);
+            } else {
+                super.onPermissionRequestCanceled(request);
+            }
+        }
+
+        @Override
+        public boolean onConsoleMessage(ConsoleMessage consoleMessage) {
+            return delegate != null ? delegate.onConsoleMessage(consoleMessage) : super.onConsoleMessage(consoleMessage);
+        }
+
+        @Override
+        public View getVideoLoadingProgressView() {
+            return delegate != null ? delegate.getVideoLoadingProgressView() : super.getVideoLoadingProgressView();
+        }
+
+        @Override
+        public void getVisitedHistory(ValueCallback<String[]> callback) {
+            if (delegate != null) {
+                delegate.getVisitedHistory(callback);
+            } else {
+                super.getVisitedHistory(callback);
+            }
+        }
+
+        @Override
+        @RequiresApi(api = Build.VERSION_CODES.LOLLIPOP)
+        public boolean onShowFileChooser(WebView webView, ValueCallback<Uri[]> filePathCallback, FileChooserParams fileChooserParams) {
+            return delegate != null ? delegate.onShowFileChooser(webView, filePathCallback, fileChooserParams)
+                    : super.onShowFileChooser(webView, filePathCallback, fileChooserParams);
+        }
+
         @Override
         public Bitmap getDefaultVideoPoster() {
+            if (delegate != null) {
+                return delegate.getDefaultVideoPoster();
+            }
             try {
                 int width = 100;
                 int height = 50;
@@ -0,0 +1,90 @@
+package com.herewhite.sdk;
+
+import com.herewhite.sdk.domain.EventEntry;
+import com.herewhite.sdk.domain.RoomState;
+import com.herewhite.sdk.domain.SDKError;
+import com.herewhite.sdk.domain.WhiteGson;
+
+import org.json.JSONObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the domain classes on the paths every bridge call goes through:
+ * serializing a {@link com.herewhite.sdk.domain.WhiteObject}, checking a promise return value for an error,
+ * and decoding a batch of Magix events.
+ *
+ * Run with {@code -prof gc} to get the bytes allocated per operation next to the throughput.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DomainSerializationBenchmark {
+
+    @Param({"small", "medium", "large"})
+    public String corpus;
+
+    private RoomState roomState;
+    private String[] promiseResults;
+    private String[] eventBatches;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        StateCorpus stateCorpus = StateCorpus.named(corpus);
+        roomState = new SyncDisplayerState<>(RoomState.class, stateCorpus.roomState, true).getDisplayerState();
+        promiseResults = stateCorpus.promiseResults;
+        eventBatches = stateCorpus.eventBatches;
+    }
+
+    @Benchmark
+    public String whiteObjectToString() {
+        return roomState.toString();
+    }
+
+    @Benchmark
+    public JSONObject whiteObjectToJSON() {
+        return roomState.toJSON();
+    }
+
+    @Benchmark
+    public SDKError promiseError() {
+        return SDKError.promiseError(promiseResults[next(promiseResults.length)]);
+    }
+
+    @Benchmark
+    public EventEntry[] decodeEventEntries() {
+        return WhiteGson.get().fromJson(eventBatches[next(eventBatches.length)], EventEntry[].class);
+    }
+
+    /**
+     * Decoding the entries only keeps the payload text; this measures the cost when every listener reads the payload as well.
+     */
+    @Benchmark
+    public void decodeEventEntriesAndPayloads(Blackhole blackhole) {
+        for (EventEntry eventEntry : WhiteGson.get().fromJson(eventBatches[next(eventBatches.length)], EventEntry[].class)) {
+            blackhole.consume(eventEntry.getPayload());
+        }
+    }
+
+    private int next(int length) {
+        cursor = (cursor + 1) % length;
+        return cursor;
+    }
+}
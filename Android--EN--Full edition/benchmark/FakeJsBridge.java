@@ -0,0 +1,152 @@
+package com.herewhite.sdk;
+
+import com.herewhite.sdk.internal.Logger;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+
+import wendu.dsbridge.OnReturnValue;
+
+/**
+ * An in-memory {@link JsBridgeInterface} that answers calls from scripted responders instead of a WebView,
+ * so that {@link Room}, {@link Player} and {@link WhiteSdk} can be load-tested on a plain JVM.
+ *
+ * A responder returns what DSBridge would hand over: a {@code String}, a {@code Number}, a {@code Boolean},
+ * a {@code JSONObject}, a {@code JSONArray}, or {@code null}. Calls to a method without a responder return {@code null}.
+ * {@code displayer.batch} calls from {@link BatchingBridge} are unpacked and each call is answered by its own responder;
+ * to simulate a page without {@code displayer.batch}, answer {@link BatchingBridge#HAS_JAVASCRIPT_METHOD} with {@code false}.
+ *
+ * Return values are delivered through the executor given to the constructor, which stands in for the main thread.
+ * Pass the same executor to {@link Displayer#setMainThreadExecutor} so that callbacks and return values arrive in one place.
+ */
+final class FakeJsBridge implements JsBridgeInterface {
+
+    /**
+     * Answers a call to the whiteboard page.
+     */
+    interface Responder {
+        Object respond(String method, Object[] args) throws Exception;
+    }
+
+    private final Executor mainThreadExecutor;
+    private final Map<String, Responder> responders = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> callCounts = new ConcurrentHashMap<>();
+    private final Map<String, Object[]> lastArgs = new ConcurrentHashMap<>();
+    private final Map<String, Object> javascriptObjects = new ConcurrentHashMap<>();
+    private final AtomicLong totalCallCount = new AtomicLong();
+
+    FakeJsBridge(Executor mainThreadExecutor) {
+        this.mainThreadExecutor = mainThreadExecutor;
+        respond(BatchingBridge.HAS_JAVASCRIPT_METHOD, (method, args) -> BatchingBridge.BATCH_METHOD.equals(args[0]));
+    }
+
+    /**
+     * Answers every call to {@code method} with {@code value}.
+     */
+    FakeJsBridge respond(String method, final Object value) {
+        return respond(method, (m, args) -> value);
+    }
+
+    FakeJsBridge respond(String method, Responder responder) {
+        responders.put(method, responder);
+        return this;
+    }
+
+    @Override
+    public <T> void callHandler(String method, Object[] args, final OnReturnValue<T> handler) {
+        final Object value = answer(method, args);
+        if (handler == null) {
+            return;
+        }
+        mainThreadExecutor.execute(() -> deliver(handler, value));
+    }
+
+    @Override
+    public void callHandler(String method, Object[] args) {
+        this.callHandler(method, args, null);
+    }
+
+    @Override
+    public <T> void callHandler(String method, OnReturnValue<T> handler) {
+        this.callHandler(method, null, handler);
+    }
+
+    @Override
+    public void addJavascriptObject(Object object, String namespace) {
+        javascriptObjects.put(namespace, object);
+    }
+
+    @Override
+    public void callFocusView() {
+    }
+
+    Object getJavascriptObject(String namespace) {
+        return javascriptObjects.get(namespace);
+    }
+
+    long getCallCount(String method) {
+        AtomicLong count = callCounts.get(method);
+        return count == null ? 0 : count.get();
+    }
+
+    /**
+     * The number of calls, counting each call of a batch separately.
+     */
+    long getTotalCallCount() {
+        return totalCallCount.get();
+    }
+
+    Object[] getLastArgs(String method) {
+        return lastArgs.get(method);
+    }
+
+    void resetCounts() {
+        callCounts.clear();
+        lastArgs.clear();
+        totalCallCount.set(0);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Object answer(String method, Object[] args) {
+        if (BatchingBridge.BATCH_METHOD.equals(method) && args != null && args.length == 1 && args[0] instanceof List) {
+            JSONArray returnValues = new JSONArray();
+            for (Map<String, Object> call : (List<Map<String, Object>>) args[0]) {
+                List<Object> callArgs = (List<Object>) call.get("args");
+                Object value = answer((String) call.get("method"), callArgs.toArray());
+                returnValues.put(value == null ? JSONObject.NULL : value);
+            }
+            return returnValues;
+        }
+        totalCallCount.incrementAndGet();
+        AtomicLong count = callCounts.get(method);
+        if (count == null) {
+            callCounts.putIfAbsent(method, new AtomicLong());
+            count = callCounts.get(method);
+        }
+        count.incrementAndGet();
+        if (args != null) {
+            lastArgs.put(method, args);
+        }
+        Responder responder = responders.get(method);
+        if (responder == null) {
+            return null;
+        }
+        try {
+            return responder.respond(method, args);
+        } catch (Exception e) {
+            Logger.error("An exception occurred in the responder of " + method, e);
+            return null;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> void deliver(OnReturnValue<T> handler, Object value) {
+        handler.onValue((T) value);
+    }
+}
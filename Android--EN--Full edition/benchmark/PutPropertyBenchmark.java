@@ -0,0 +1,122 @@
+package com.herewhite.sdk;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.herewhite.sdk.domain.RoomState;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link SyncDisplayerState#putProperty(String, Object)} on the persistent state map
+ * with the copy-everything put it replaced, as done by {@code Room.setMemberState}.
+ *
+ * Run with {@code -prof gc} to get the bytes allocated per operation next to the throughput.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PutPropertyBenchmark {
+
+    private static final Gson gson = new Gson();
+
+    @Param({"small", "medium", "large"})
+    public String corpus;
+
+    private Map<String, Object>[] memberStates;
+    private SyncDisplayerState<RoomState> persistent;
+    private JsonObject copying;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        String initialState = StateCorpus.named(corpus).roomState;
+        memberStates = new Map[]{memberState("rectangle", 255), memberState("pencil", 0)};
+        persistent = new SyncDisplayerState<>(RoomState.class, initialState, true);
+        copying = new JsonParser().parse(initialState).getAsJsonObject();
+    }
+
+    @Benchmark
+    public SyncDisplayerState.Snapshot<RoomState> persistentPut() {
+        persistent.putProperty("memberState", nextMemberState());
+        return persistent.getSnapshot();
+    }
+
+    @Benchmark
+    public SyncDisplayerState.Snapshot<RoomState> persistentRedundantPut() {
+        persistent.putProperty("memberState", memberStates[0]);
+        return persistent.getSnapshot();
+    }
+
+    @Benchmark
+    public JsonObject copyingPut() {
+        copyingPut("memberState", nextMemberState());
+        return copying;
+    }
+
+    private Map<String, Object> nextMemberState() {
+        Map<String, Object> memberState = memberStates[cursor];
+        cursor = (cursor + 1) % memberStates.length;
+        return memberState;
+    }
+
+    /**
+     * The put as it was before the persistent map: every top-level key and every nested key is copied.
+     */
+    private void copyingPut(String key, Object value) {
+        JsonElement originalValue = copying.get(key);
+        JsonElement newValue = copyingAssign(originalValue, gson.toJsonTree(value));
+        if (!originalValue.equals(newValue)) {
+            JsonObject newState = new JsonObject();
+            for (String otherKey : copying.keySet()) {
+                newState.add(otherKey, otherKey.equals(key) ? newValue : copying.get(otherKey));
+            }
+            copying = newState;
+        }
+    }
+
+    private static JsonElement copyingAssign(JsonElement value1, JsonElement value2) {
+        if (!value1.isJsonObject() || !value2.isJsonObject()) {
+            return value2;
+        }
+        JsonObject object1 = value1.getAsJsonObject();
+        JsonObject object2 = value2.getAsJsonObject();
+        JsonObject newObject = new JsonObject();
+        for (String key : object1.keySet()) {
+            newObject.add(key, object2.has(key) ? object2.get(key) : object1.get(key));
+        }
+        for (String key : object2.keySet()) {
+            if (!newObject.has(key)) {
+                newObject.add(key, object2.get(key));
+            }
+        }
+        return newObject;
+    }
+
+    private static Map<String, Object> memberState(String applianceName, int red) {
+        Map<String, Object> memberState = new LinkedHashMap<>();
+        memberState.put("currentApplianceName", applianceName);
+        memberState.put("strokeColor", new int[]{red, 0, 255 - red});
+        return memberState;
+    }
+}
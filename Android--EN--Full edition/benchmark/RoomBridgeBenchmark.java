@@ -0,0 +1,93 @@
+package com.herewhite.sdk;
+
+import com.herewhite.sdk.domain.Promise;
+import com.herewhite.sdk.domain.RoomMember;
+import com.herewhite.sdk.domain.RoomState;
+import com.herewhite.sdk.domain.SDKError;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drives a {@link Room} through a {@link FakeJsBridge}, with callbacks run on the calling thread,
+ * to measure the Java side of a bridge round trip and of an incoming state update without a WebView.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RoomBridgeBenchmark {
+
+    @Param({"small", "medium", "large"})
+    public String corpus;
+
+    private String[] updates;
+    private Room room;
+    private FakeJsBridge bridge;
+    private Blackhole blackhole;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp(Blackhole blackhole) {
+        this.blackhole = blackhole;
+        StateCorpus stateCorpus = StateCorpus.named(corpus);
+        updates = stateCorpus.updates;
+        bridge = new FakeJsBridge(Runnable::run)
+                .respond("room.state.getRoomState", stateCorpus.roomState)
+                .respond("room.getRoomMembers", StateCorpus.roomMembers(stateCorpus.members, -1, null));
+        room = new Room("benchmark", bridge, 320, true);
+        room.setMainThreadExecutor(Runnable::run);
+        room.getRoomDelegate().fireRoomStateChanged(stateCorpus.roomState);
+    }
+
+    @Benchmark
+    public void fireRoomStateChanged() {
+        room.getRoomDelegate().fireRoomStateChanged(updates[cursor]);
+        cursor = (cursor + 1) % updates.length;
+    }
+
+    @Benchmark
+    public void getRoomStateRoundTrip() {
+        room.getRoomState(new Promise<RoomState>() {
+            @Override
+            public void then(RoomState roomState) {
+                blackhole.consume(roomState);
+            }
+
+            @Override
+            public void catchEx(SDKError t) {
+                throw new IllegalStateException(t);
+            }
+        });
+    }
+
+    @Benchmark
+    public void getRoomMembersRoundTrip() {
+        room.getRoomMembers(new Promise<RoomMember[]>() {
+            @Override
+            public void then(RoomMember[] roomMembers) {
+                blackhole.consume(roomMembers);
+            }
+
+            @Override
+            public void catchEx(SDKError t) {
+                throw new IllegalStateException(t);
+            }
+        });
+    }
+}
@@ -0,0 +1,103 @@
+package com.herewhite.sdk;
+
+import com.herewhite.sdk.domain.RoomPhase;
+import com.herewhite.sdk.domain.RoomState;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Floods a {@link Room} with state updates and high-frequency events from a simulated whiteboard page,
+ * and reports how many callbacks reached the listeners and how far the main thread fell behind.
+ *
+ * Unlike the JMH benchmarks this keeps a separate main thread, so it shows the hand-over between the
+ * bridge thread and the main thread. Run it with {@code corpus rateOfStateUpdates rateOfEventBatches seconds [channelCapacity]},
+ * for example {@code large 500 200 10}. With a channel capacity, the events go through a high-frequency channel that coalesces by author.
+ */
+public final class RoomLoadTest {
+
+    private RoomLoadTest() {
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        StateCorpus corpus = StateCorpus.named(args.length > 0 ? args[0] : "medium");
+        double stateRate = args.length > 1 ? Double.parseDouble(args[1]) : 200;
+        double eventRate = args.length > 2 ? Double.parseDouble(args[2]) : 100;
+        long seconds = args.length > 3 ? Long.parseLong(args[3]) : 10;
+        int channelCapacity = args.length > 4 ? Integer.parseInt(args[4]) : 0;
+
+        final ThreadPoolExecutor mainThread = (ThreadPoolExecutor) Executors.newFixedThreadPool(1, runnable -> new Thread(runnable, "main"));
+        final AtomicLong stateCallbacks = new AtomicLong();
+        final AtomicLong events = new AtomicLong();
+        final AtomicLong maxBacklog = new AtomicLong();
+
+        FakeJsBridge bridge = new FakeJsBridge(mainThread);
+        Room room = new Room("load-test", bridge, 320, true);
+        room.setMainThreadExecutor(mainThread);
+        room.setRoomListener(new RoomListener() {
+            @Override
+            public void onPhaseChanged(RoomPhase phase) {
+            }
+
+            @Override
+            public void onDisconnectWithError(Exception e) {
+            }
+
+            @Override
+            public void onKickedWithReason(String reason) {
+            }
+
+            @Override
+            public void onRoomStateChanged(RoomState modifyState) {
+                stateCallbacks.incrementAndGet();
+            }
+
+            @Override
+            public void onCanUndoStepsUpdate(long canUndoSteps) {
+            }
+
+            @Override
+            public void onCanRedoStepsUpdate(long canRedoSteps) {
+            }
+
+            @Override
+            public void onCatchErrorWhenAppendFrame(long userId, Exception error) {
+            }
+        });
+        if (channelCapacity > 0) {
+            room.openHighFrequencyChannel("cursor", channelCapacity, HighFrequencyOverflowPolicy.COALESCE_BY_AUTHOR);
+        }
+        room.addHighFrequencyEventListener("cursor", eventEntries -> events.addAndGet(eventEntries.length), 0);
+        room.getRoomDelegate().fireRoomStateChanged(corpus.roomState);
+
+        long start = System.nanoTime();
+        try (SyntheticTraffic traffic = new SyntheticTraffic()
+                .roomStateUpdates(stateRate, room.getRoomDelegate(), corpus)
+                .highFrequencyEvents(eventRate, room.getRoomDelegate(), corpus)) {
+            long deadline = start + TimeUnit.SECONDS.toNanos(seconds);
+            while (System.nanoTime() < deadline) {
+                maxBacklog.accumulateAndGet(mainThread.getQueue().size(), Math::max);
+                Thread.sleep(10);
+            }
+            System.out.println("sent " + traffic.getSentCount() + " calls in " + seconds + " s");
+        }
+        drain(mainThread);
+        double elapsed = (System.nanoTime() - start) / 1e9;
+        System.out.printf("state callbacks: %d (%.0f/s)%n", stateCallbacks.get(), stateCallbacks.get() / elapsed);
+        System.out.printf("high-frequency events: %d (%.0f/s)%n", events.get(), events.get() / elapsed);
+        System.out.println("largest main thread backlog: " + maxBacklog.get() + " tasks");
+        HighFrequencyChannelStats channelStats = room.getHighFrequencyChannelStats("cursor");
+        if (channelStats != null) {
+            System.out.println("channel: " + channelStats.getDeliveryCount() + " deliveries, " + channelStats.getDroppedCount() + " dropped, "
+                    + channelStats.getCoalescedCount() + " coalesced");
+        }
+    }
+
+    private static void drain(ExecutorService mainThread) throws InterruptedException {
+        mainThread.shutdown();
+        mainThread.awaitTermination(1, TimeUnit.MINUTES);
+    }
+}
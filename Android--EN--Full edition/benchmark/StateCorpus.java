@@ -0,0 +1,150 @@
+package com.herewhite.sdk;
+
+import java.util.Random;
+
+/**
+ * Payloads shaped like the ones the JS side sends through the bridge, for the benchmarks in this directory.
+ *
+ * A corpus is generated from a fixed seed, so every run of a benchmark sees the same bytes.
+ * The member and scene counts cover a one-to-one lesson up to a large lecture hall:
+ * {@code small} has 2 members and 10 scenes, {@code medium} 300 members and 100 scenes,
+ * {@code large} 5,000 members and 1,000 scenes.
+ *
+ * Run the benchmarks with JMH and {@code -prof gc} to get ops/s together with the bytes allocated per operation.
+ * Besides JMH they only need Gson and org.json on the classpath.
+ */
+final class StateCorpus {
+
+    private static final String[] APPLIANCES = {"pencil", "rectangle", "ellipse", "text", "eraser", "selector", "shape"};
+
+    final int members;
+    final int scenes;
+    /** The whole room state, as sent when the room is joined. */
+    final String roomState;
+    /** Partial state updates in the mix seen during a lesson. */
+    final String[] updates;
+    /** Batches of high-frequency Magix events. */
+    final String[] eventBatches;
+    /** Promise return values, with and without the {@code __error} field. */
+    final String[] promiseResults;
+
+    private final Random random = new Random(20210618L);
+
+    private StateCorpus(int members, int scenes) {
+        this.members = members;
+        this.scenes = scenes;
+        this.roomState = roomState(members, scenes);
+        this.updates = updates();
+        this.eventBatches = eventBatches();
+        this.promiseResults = promiseResults();
+    }
+
+    static StateCorpus named(String name) {
+        switch (name) {
+            case "small":
+                return new StateCorpus(2, 10);
+            case "medium":
+                return new StateCorpus(300, 100);
+            case "large":
+                return new StateCorpus(5000, 1000);
+            default:
+                throw new IllegalArgumentException("Unknown corpus " + name);
+        }
+    }
+
+    static String roomState(int members, int scenes) {
+        return "{\"roomMembers\":" + roomMembers(members, -1, null)
+                + ",\"memberState\":" + memberState("pencil", 0)
+                + ",\"cameraState\":{\"centerX\":0,\"centerY\":0,\"scale\":1}"
+                + ",\"sceneState\":" + sceneState(scenes, 0)
+                + ",\"broadcastState\":{\"mode\":\"freedom\",\"broadcasterId\":null}"
+                + ",\"zoomScale\":1"
+                + ",\"globalState\":{\"lessonId\":\"lesson-42\",\"raisedHands\":[],\"page\":0}}";
+    }
+
+    static String roomMembers(int count, int changedIndex, String changedAppliance) {
+        StringBuilder builder = new StringBuilder("[");
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                builder.append(',');
+            }
+            String appliance = i == changedIndex ? changedAppliance : "pencil";
+            builder.append("{\"memberId\":").append(i + 1)
+                    .append(",\"memberState\":").append(memberState(appliance, i % 256))
+                    .append(",\"session\":\"").append(Long.toHexString(0x5eed0000L + i)).append('"')
+                    .append(",\"payload\":{\"userId\":\"user-").append(i + 1)
+                    .append("\",\"nickName\":\"Student ").append(i + 1)
+                    .append("\",\"avatar\":\"https://example.com/avatar/").append(i + 1).append(".png\"}}");
+        }
+        return builder.append(']').toString();
+    }
+
+    static String memberState(String appliance, int red) {
+        return "{\"currentApplianceName\":\"" + appliance + "\",\"strokeColor\":[" + red + ",0,255],\"strokeWidth\":4,\"textSize\":15}";
+    }
+
+    static String sceneState(int count, int index) {
+        StringBuilder builder = new StringBuilder("{\"scenePath\":\"/courseware/").append(index + 1)
+                .append("\",\"index\":").append(index).append(",\"scenes\":[");
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                builder.append(',');
+            }
+            builder.append("{\"name\":\"").append(i + 1).append("\",\"componentsCount\":").append(i % 7)
+                    .append(",\"ppt\":{\"src\":\"pptx://convertcdn.example.com/dynamicConvert/2f8e/").append(i + 1)
+                    .append(".slide\",\"width\":1280,\"height\":720,\"previewURL\":\"https://convertcdn.example.com/preview/")
+                    .append(i + 1).append(".png\"}}");
+        }
+        return builder.append("]}").toString();
+    }
+
+    /**
+     * Mostly camera moves, then tool changes of single members, scene switches and global state changes.
+     */
+    private String[] updates() {
+        String[] updates = new String[64];
+        for (int i = 0; i < updates.length; i++) {
+            int kind = i % 8;
+            if (kind < 4) {
+                updates[i] = "{\"cameraState\":{\"centerX\":" + (random.nextInt(2000) - 1000)
+                        + ",\"centerY\":" + (random.nextInt(2000) - 1000)
+                        + ",\"scale\":" + (0.5 + random.nextInt(30) / 10.0) + "},\"zoomScale\":1}";
+            } else if (kind < 6) {
+                updates[i] = "{\"roomMembers\":" + roomMembers(members, random.nextInt(members),
+                        APPLIANCES[random.nextInt(APPLIANCES.length)]) + "}";
+            } else if (kind == 6) {
+                updates[i] = "{\"sceneState\":" + sceneState(scenes, random.nextInt(scenes)) + "}";
+            } else {
+                updates[i] = "{\"globalState\":{\"lessonId\":\"lesson-42\",\"raisedHands\":[" + (random.nextInt(members) + 1)
+                        + "],\"page\":" + random.nextInt(scenes) + "}}";
+            }
+        }
+        return updates;
+    }
+
+    private String[] eventBatches() {
+        String[] batches = new String[16];
+        for (int i = 0; i < batches.length; i++) {
+            int size = 1 + random.nextInt(Math.min(members, 64));
+            StringBuilder builder = new StringBuilder("[");
+            for (int j = 0; j < size; j++) {
+                if (j > 0) {
+                    builder.append(',');
+                }
+                builder.append("{\"eventName\":\"cursor\",\"scope\":\"room\",\"authorId\":").append(random.nextInt(members) + 1)
+                        .append(",\"payload\":{\"x\":").append(random.nextInt(1280))
+                        .append(",\"y\":").append(random.nextInt(720))
+                        .append(",\"color\":[").append(random.nextInt(256)).append(",0,255]}}");
+            }
+            batches[i] = builder.append(']').toString();
+        }
+        return batches;
+    }
+
+    private String[] promiseResults() {
+        return new String[]{
+                "{\"__error\":{\"message\":\"scene not found\",\"jsStack\":\"Error: scene not found\\n    at Room.setScenePath (white-web-sdk.js:1:23456)\"}}",
+                "{\"scenePath\":\"/courseware/1\",\"ok\":true}",
+        };
+    }
+}
@@ -0,0 +1,87 @@
+package com.herewhite.sdk;
+
+import com.google.gson.JsonParser;
+import com.herewhite.sdk.domain.RoomState;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the streaming merge of {@link SyncDisplayerState#syncDisplayerState(String)} with the tree-based merge it replaced.
+ *
+ * Run with {@code -prof gc} to get the bytes allocated per operation next to the throughput.
+ * Each operation applies the next partial update of the {@link StateCorpus}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SyncDisplayerStateBenchmark {
+
+    @Param({"small", "medium", "large"})
+    public String corpus;
+
+    private final JsonParser parser = new JsonParser();
+    private String[] updates;
+    private SyncDisplayerState<RoomState> streaming;
+    private SyncDisplayerState<RoomState> tree;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        StateCorpus stateCorpus = StateCorpus.named(corpus);
+        updates = stateCorpus.updates;
+        streaming = new SyncDisplayerState<>(RoomState.class, stateCorpus.roomState, true);
+        tree = new SyncDisplayerState<>(RoomState.class, stateCorpus.roomState, true);
+    }
+
+    @Benchmark
+    public void streamingMerge() {
+        streaming.syncDisplayerState(nextUpdate());
+    }
+
+    /**
+     * The tree-based merge: parses the whole payload into a tree before comparing it with the stored state.
+     */
+    @Benchmark
+    public void treeMerge() {
+        tree.syncDisplayerState(parser.parse(nextUpdate()).getAsJsonObject());
+    }
+
+    /**
+     * Decodes the whole state after each update, as {@code Room.getRoomState()} does on a fresh snapshot.
+     */
+    @Benchmark
+    public RoomState syncAndGetDisplayerState() {
+        streaming.syncDisplayerState(nextUpdate());
+        return streaming.getDisplayerState();
+    }
+
+    /**
+     * Reads the state again without an update in between, which the snapshot serves from its cache.
+     */
+    @Benchmark
+    public RoomState getCachedDisplayerState() {
+        return streaming.getDisplayerState();
+    }
+
+    private String nextUpdate() {
+        String update = updates[cursor];
+        cursor = (cursor + 1) % updates.length;
+        return update;
+    }
+}
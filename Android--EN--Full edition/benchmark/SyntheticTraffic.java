@@ -0,0 +1,100 @@
+package com.herewhite.sdk;
+
+import com.herewhite.sdk.domain.EventEntry;
+import com.herewhite.sdk.domain.WhiteGson;
+import com.herewhite.sdk.internal.PlayerDelegate;
+import com.herewhite.sdk.internal.RoomDelegate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pushes calls from a simulated whiteboard page into a {@link RoomDelegate} or {@link PlayerDelegate} at fixed rates.
+ *
+ * The calls come from a background thread, like the calls DSBridge makes on the JavaBridge thread,
+ * so the delegates hand them over to the main thread executor just as they do on a device.
+ * Payloads are taken in turn from a {@link StateCorpus}, which keeps runs repeatable.
+ * All rates share one thread, so a rate is an upper bound: when the delegates are slower than the rates,
+ * the calls are delayed, and {@link #getSentCount()} shows how many were actually made.
+ */
+final class SyntheticTraffic implements AutoCloseable {
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "SyntheticTraffic");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicLong sentCount = new AtomicLong();
+
+    /**
+     * Runs {@code call} {@code perSecond} times a second until {@link #close()}.
+     */
+    SyntheticTraffic every(double perSecond, final Runnable call) {
+        long periodNanos = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / perSecond));
+        scheduler.scheduleAtFixedRate(() -> {
+            call.run();
+            sentCount.incrementAndGet();
+        }, periodNanos, periodNanos, TimeUnit.NANOSECONDS);
+        return this;
+    }
+
+    SyntheticTraffic roomStateUpdates(double perSecond, final RoomDelegate delegate, StateCorpus corpus) {
+        final Cycle<String> updates = new Cycle<>(corpus.updates);
+        return every(perSecond, () -> delegate.fireRoomStateChanged(updates.next()));
+    }
+
+    SyntheticTraffic highFrequencyEvents(double perSecond, final RoomDelegate delegate, StateCorpus corpus) {
+        final Cycle<EventEntry[]> batches = new Cycle<>(eventBatches(corpus));
+        return every(perSecond, () -> delegate.fireHighFrequencyEvent(batches.next()));
+    }
+
+    SyntheticTraffic playerStateUpdates(double perSecond, final PlayerDelegate delegate, StateCorpus corpus) {
+        final Cycle<String> updates = new Cycle<>(corpus.updates);
+        return every(perSecond, () -> delegate.syncDisplayerState(updates.next()));
+    }
+
+    SyntheticTraffic scheduleTimeUpdates(double perSecond, final PlayerDelegate delegate) {
+        final long stepMillis = Math.max(1, (long) (1000 / perSecond));
+        final AtomicLong scheduleTime = new AtomicLong();
+        return every(perSecond, () -> delegate.setScheduleTime(scheduleTime.addAndGet(stepMillis)));
+    }
+
+    /**
+     * The number of calls made so far, over all rates.
+     */
+    long getSentCount() {
+        return sentCount.get();
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+
+    private static EventEntry[][] eventBatches(StateCorpus corpus) {
+        List<EventEntry[]> batches = new ArrayList<>(corpus.eventBatches.length);
+        for (String json : corpus.eventBatches) {
+            batches.add(WhiteGson.get().fromJson(json, EventEntry[].class));
+        }
+        return batches.toArray(new EventEntry[0][]);
+    }
+
+    private static final class Cycle<T> {
+        private final T[] items;
+        private int cursor;
+
+        Cycle(T[] items) {
+            this.items = items;
+        }
+
+        T next() {
+            T item = items[cursor];
+            cursor = (cursor + 1) % items.length;
+            return item;
+        }
+    }
+}
@@ -1,5 +1,12 @@
 package com.herewhite.sdk.domain;
 
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
 /**
  * The view state of the local user, as well as the user information of the host (if any) in the room.
  *
@@ -40,4 +47,55 @@ public class BroadcastState extends WhiteObject {
     public RoomMember getBroadcasterInformation() {
         return broadcasterInformation;
     }
+
+    static final class Adapter extends TypeAdapter<BroadcastState> {
+        private final TypeAdapter<ViewMode> modeAdapter;
+        private final TypeAdapter<RoomMember> broadcasterAdapter;
+
+        Adapter(Gson gson) {
+            modeAdapter = gson.getAdapter(ViewMode.class);
+            broadcasterAdapter = gson.getAdapter(RoomMember.class);
+        }
+
+        @Override
+        public BroadcastState read(JsonReader in) throws IOException {
+            if (DomainTypeAdapterFactory.nextIsNull(in)) {
+                return null;
+            }
+            BroadcastState broadcastState = new BroadcastState();
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "mode":
+                        broadcastState.mode = modeAdapter.read(in);
+                        break;
+                    case "broadcasterId":
+                        broadcastState.broadcasterId = DomainTypeAdapterFactory.nextLong(in);
+                        break;
+                    case "broadcasterInformation":
+                        broadcastState.broadcasterInformation = broadcasterAdapter.read(in);
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+            in.endObject();
+            return broadcastState;
+        }
+
+        @Override
+        public void write(JsonWriter out, BroadcastState broadcastState) throws IOException {
+            if (broadcastState == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            out.name("mode");
+            modeAdapter.write(out, broadcastState.mode);
+            out.name("broadcasterId").value(broadcastState.broadcasterId);
+            out.name("broadcasterInformation");
+            broadcasterAdapter.write(out, broadcastState.broadcasterInformation);
+            out.endObject();
+        }
+    }
 }
@@ -1,5 +1,11 @@
 package com.herewhite.sdk.domain;
 
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
 /**
  * The state of the view.
  */
@@ -35,4 +41,45 @@ public class CameraState extends WhiteObject {
 
     private Double centerY;
     private Double scale;
+
+    static final class Adapter extends TypeAdapter<CameraState> {
+        @Override
+        public CameraState read(JsonReader in) throws IOException {
+            if (DomainTypeAdapterFactory.nextIsNull(in)) {
+                return null;
+            }
+            CameraState cameraState = new CameraState();
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "centerX":
+                        cameraState.centerX = DomainTypeAdapterFactory.nextDouble(in);
+                        break;
+                    case "centerY":
+                        cameraState.centerY = DomainTypeAdapterFactory.nextDouble(in);
+                        break;
+                    case "scale":
+                        cameraState.scale = DomainTypeAdapterFactory.nextDouble(in);
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+            in.endObject();
+            return cameraState;
+        }
+
+        @Override
+        public void write(JsonWriter out, CameraState cameraState) throws IOException {
+            if (cameraState == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            out.name("centerX").value(cameraState.centerX);
+            out.name("centerY").value(cameraState.centerY);
+            out.name("scale").value(cameraState.scale);
+            out.endObject();
+        }
+    }
 }
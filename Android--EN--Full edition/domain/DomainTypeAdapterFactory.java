@@ -0,0 +1,208 @@
+package com.herewhite.sdk.domain;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+/**
+ * Hidden in documentation
+ *
+ * Creates the streaming adapters of the state and event classes. Each class declares its adapter as a nested {@code Adapter} class,
+ * so it can reach the private fields without reflection. The adapters read and write the same JSON as Gson's reflective adapter:
+ * fields in declaration order, subclass fields first, {@code null} fields left out.
+ * Only the exact classes are handled; subclasses still go through reflection.
+ */
+final class DomainTypeAdapterFactory implements TypeAdapterFactory {
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+        Class<? super T> rawType = type.getRawType();
+        TypeAdapter<?> adapter;
+        if (rawType == RoomState.class) {
+            adapter = new RoomState.Adapter(gson);
+        } else if (rawType == PlayerState.class) {
+            adapter = new PlayerState.Adapter(gson);
+        } else if (rawType == MemberState.class) {
+            adapter = new MemberState.Adapter(gson);
+        } else if (rawType == SceneState.class) {
+            adapter = new SceneState.Adapter(gson);
+        } else if (rawType == Scene.class) {
+            adapter = new Scene.Adapter(gson);
+        } else if (rawType == PptPage.class) {
+            adapter = new PptPage.Adapter();
+        } else if (rawType == CameraState.class) {
+            adapter = new CameraState.Adapter();
+        } else if (rawType == BroadcastState.class) {
+            adapter = new BroadcastState.Adapter(gson);
+        } else if (rawType == RoomMember.class) {
+            adapter = new RoomMember.Adapter(gson);
+        } else if (rawType == MemberInformation.class) {
+            adapter = new MemberInformation.Adapter();
+        } else if (rawType == EventEntry.class) {
+            adapter = new EventEntry.Adapter();
+        } else {
+            return null;
+        }
+        return (TypeAdapter<T>) adapter;
+    }
+
+    static String nextString(JsonReader in) throws IOException {
+        JsonToken token = in.peek();
+        if (token == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        if (token == JsonToken.BOOLEAN) {
+            return Boolean.toString(in.nextBoolean());
+        }
+        return in.nextString();
+    }
+
+    static Double nextDouble(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        return in.nextDouble();
+    }
+
+    static Long nextLong(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        try {
+            return in.nextLong();
+        } catch (NumberFormatException e) {
+            throw new JsonSyntaxException(e);
+        }
+    }
+
+    static Integer nextInteger(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        try {
+            return in.nextInt();
+        } catch (NumberFormatException e) {
+            throw new JsonSyntaxException(e);
+        }
+    }
+
+    static int[] nextIntArray(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        int[] values = new int[4];
+        int size = 0;
+        in.beginArray();
+        while (in.hasNext()) {
+            if (size == values.length) {
+                int[] grown = new int[size * 2];
+                System.arraycopy(values, 0, grown, 0, size);
+                values = grown;
+            }
+            if (in.peek() == JsonToken.NULL) {
+                // Gson cannot store null in an int[] either; do not make up a value for it.
+                throw new JsonSyntaxException("Unexpected null element at " + in.getPath());
+            }
+            values[size++] = nextInteger(in);
+        }
+        in.endArray();
+        if (size == values.length) {
+            return values;
+        }
+        int[] result = new int[size];
+        System.arraycopy(values, 0, result, 0, size);
+        return result;
+    }
+
+    /**
+     * Returns whether the next value is JSON {@code null}, consuming it if so.
+     */
+    static boolean nextIsNull(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Reads the next value as compact JSON text, copying it token by token without building objects for it.
+     * Returns {@code null} for JSON {@code null}.
+     */
+    static String nextRawJson(JsonReader in) throws IOException {
+        if (nextIsNull(in)) {
+            return null;
+        }
+        StringWriter text = new StringWriter();
+        JsonWriter out = new JsonWriter(text);
+        copyValue(in, out);
+        out.flush();
+        return text.toString();
+    }
+
+    private static void copyValue(JsonReader in, JsonWriter out) throws IOException {
+        switch (in.peek()) {
+            case BEGIN_ARRAY:
+                in.beginArray();
+                out.beginArray();
+                while (in.hasNext()) {
+                    copyValue(in, out);
+                }
+                in.endArray();
+                out.endArray();
+                break;
+            case BEGIN_OBJECT:
+                in.beginObject();
+                out.beginObject();
+                while (in.hasNext()) {
+                    out.name(in.nextName());
+                    copyValue(in, out);
+                }
+                in.endObject();
+                out.endObject();
+                break;
+            case STRING:
+                out.value(in.nextString());
+                break;
+            case NUMBER:
+                // The literal is kept as it is, so a long or a high-precision number is not rounded through a double.
+                out.jsonValue(in.nextString());
+                break;
+            case BOOLEAN:
+                out.value(in.nextBoolean());
+                break;
+            case NULL:
+                in.nextNull();
+                out.nullValue();
+                break;
+            default:
+                throw new JsonSyntaxException("Unexpected " + in.peek() + " at " + in.getPath());
+        }
+    }
+
+    static void writeIntArray(JsonWriter out, int[] values) throws IOException {
+        if (values == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginArray();
+        for (int value : values) {
+            out.value(value);
+        }
+        out.endArray();
+    }
+}
@@ -1,22 +1,65 @@
 package com.herewhite.sdk.domain;
 
+import com.google.gson.TypeAdapter;
+import com.google.gson.annotations.JsonAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.concurrent.ConcurrentHashMap;
+
 /**
  * The `EventEntry` class, for getting customized events.
+ *
+ * The SDK keeps the content of the event as JSON text and decodes it only when you first call {@link #getPayload() getPayload},
+ * so an event that no listener reads costs little. Register the class of the content with
+ * {@link #registerPayloadType(String, Type) registerPayloadType} to have it decoded straight into that class.
  */
+// The field that holds the content is not named after its JSON key, so every Gson instance must use the adapter, not only the SDK's.
+@JsonAdapter(EventEntry.Adapter.class)
 public class EventEntry extends WhiteObject {
+    private static final ConcurrentHashMap<String, Type> payloadTypes = new ConcurrentHashMap<>();
+
     private String eventName;
-    private Object payload;
+    private String payloadJson;
     private String scope;
     private long authorId;
 
-    /// @cond test
+    private transient volatile boolean payloadDecoded;
+    private transient Object payload;
+
     /**
-     * Hidden in the documentation
+     * Sets the class that the content of an event is decoded into.
+     *
+     * After this, {@link #getPayload() getPayload} returns an instance of `payloadType` for the events named `eventName`,
+     * instead of the `Map`, `List`, `String`, `Double` or `Boolean` values it returns by default.
+     * It applies to all rooms and players.
+     *
+     * @param eventName   The name of the event.
+     * @param payloadType The class of the content, or a `Type` from a `TypeToken` for a generic type.
+     */
+    public static void registerPayloadType(String eventName, Type payloadType) {
+        payloadTypes.put(eventName, payloadType);
+    }
+
+    /**
+     * Removes the class set with {@link #registerPayloadType(String, Type) registerPayloadType}.
+     *
+     * @param eventName The name of the event.
+     */
+    public static void unregisterPayloadType(String eventName) {
+        payloadTypes.remove(eventName);
+    }
+
+    /**
+     * Gets the scope of the event.
+     *
+     * @return The scope of the event.
      */
     public String getScope() {
         return scope;
     }
-    /// @endcond
 
     /**
      * Gets the user ID of the event trigger.
@@ -41,9 +84,99 @@ public class EventEntry extends WhiteObject {
     /**
      * Gets the content of the event.
      *
+     * The content is decoded on the first call, into the class set with {@link #registerPayloadType(String, Type) registerPayloadType}
+     * if there is one, and the same object is returned afterwards.
+     *
      * @return The content of the event.
+     * @throws com.google.gson.JsonSyntaxException If the content cannot be decoded into the registered class.
      */
     public Object getPayload() {
+        if (!payloadDecoded) {
+            Type payloadType = eventName == null ? null : payloadTypes.get(eventName);
+            payload = WhiteGson.get().fromJson(payloadJson, payloadType == null ? Object.class : payloadType);
+            payloadDecoded = true;
+        }
         return payload;
     }
+
+    /**
+     * Decodes the content of the event into the specified class.
+     *
+     * Unlike {@link #getPayload() getPayload}, this method decodes the JSON text again on each call, unless the content has already
+     * been decoded into an instance of `payloadClass`.
+     *
+     * @param payloadClass The class of the content.
+     * @return The content of the event.
+     * @throws com.google.gson.JsonSyntaxException If the content cannot be decoded into `payloadClass`.
+     */
+    public <T> T getPayload(Class<T> payloadClass) {
+        if (payloadDecoded && payloadClass.isInstance(payload)) {
+            return payloadClass.cast(payload);
+        }
+        return WhiteGson.get().fromJson(payloadJson, payloadClass);
+    }
+
+    /**
+     * Gets the content of the event as JSON text, without decoding it.
+     *
+     * @return The content of the event in JSON, or `null` if the event has no content.
+     */
+    public String getPayloadJson() {
+        return payloadJson;
+    }
+
+    static final class Adapter extends TypeAdapter<EventEntry> {
+
+        @Override
+        public EventEntry read(JsonReader in) throws IOException {
+            if (DomainTypeAdapterFactory.nextIsNull(in)) {
+                return null;
+            }
+            EventEntry eventEntry = new EventEntry();
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "eventName":
+                        eventEntry.eventName = DomainTypeAdapterFactory.nextString(in);
+                        break;
+                    case "payload":
+                        eventEntry.payloadJson = DomainTypeAdapterFactory.nextRawJson(in);
+                        break;
+                    case "scope":
+                        eventEntry.scope = DomainTypeAdapterFactory.nextString(in);
+                        break;
+                    case "authorId": {
+                        Long authorId = DomainTypeAdapterFactory.nextLong(in);
+                        if (authorId != null) {
+                            eventEntry.authorId = authorId;
+                        }
+                        break;
+                    }
+                    default:
+                        in.skipValue();
+                }
+            }
+            in.endObject();
+            return eventEntry;
+        }
+
+        @Override
+        public void write(JsonWriter out, EventEntry eventEntry) throws IOException {
+            if (eventEntry == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            out.name("eventName").value(eventEntry.eventName);
+            out.name("payload");
+            if (eventEntry.payloadJson == null) {
+                out.nullValue();
+            } else {
+                out.jsonValue(eventEntry.payloadJson);
+            }
+            out.name("scope").value(eventEntry.scope);
+            out.name("authorId").value(eventEntry.authorId);
+            out.endObject();
+        }
+    }
 }
@@ -1,5 +1,11 @@
 package com.herewhite.sdk.domain;
 
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
 /**
  * The `MemberInformation` class, for setting customized user information.
  *
@@ -99,4 +105,49 @@ public class MemberInformation extends WhiteObject {
     public void setAvatar(String avatar) {
         this.avatar = avatar;
     }
+
+    static final class Adapter extends TypeAdapter<MemberInformation> {
+        @Override
+        public MemberInformation read(JsonReader in) throws IOException {
+            if (DomainTypeAdapterFactory.nextIsNull(in)) {
+                return null;
+            }
+            MemberInformation information = new MemberInformation();
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "id":
+                        information.id = DomainTypeAdapterFactory.nextLong(in);
+                        break;
+                    case "nickName":
+                        information.nickName = DomainTypeAdapterFactory.nextString(in);
+                        break;
+                    case "avatar":
+                        information.avatar = DomainTypeAdapterFactory.nextString(in);
+                        break;
+                    case "userId":
+                        information.userId = DomainTypeAdapterFactory.nextString(in);
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+            in.endObject();
+            return information;
+        }
+
+        @Override
+        public void write(JsonWriter out, MemberInformation information) throws IOException {
+            if (information == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            out.name("id").value(information.id);
+            out.name("nickName").value(information.nickName);
+            out.name("avatar").value(information.avatar);
+            out.name("userId").value(information.userId);
+            out.endObject();
+        }
+    }
 }
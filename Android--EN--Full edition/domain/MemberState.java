@@ -1,5 +1,12 @@
 package com.herewhite.sdk.domain;
 
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
 /**
  * Created by buhe on 2018/8/11.
  */
@@ -12,6 +19,7 @@ public class MemberState extends WhiteObject {
     private int[] strokeColor;
     private Double strokeWidth;
     private Double textSize;
+    private ShapeType shapeType;
 
     public MemberState() {
     }
@@ -128,4 +136,61 @@ public class MemberState extends WhiteObject {
     public void setTextSize(double textSize) {
         this.textSize = textSize;
     }
+
+    static final class Adapter extends TypeAdapter<MemberState> {
+        private final TypeAdapter<ShapeType> shapeTypeAdapter;
+
+        Adapter(Gson gson) {
+            shapeTypeAdapter = gson.getAdapter(ShapeType.class);
+        }
+
+        @Override
+        public MemberState read(JsonReader in) throws IOException {
+            if (DomainTypeAdapterFactory.nextIsNull(in)) {
+                return null;
+            }
+            MemberState memberState = new MemberState();
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "currentApplianceName":
+                        memberState.currentApplianceName = DomainTypeAdapterFactory.nextString(in);
+                        break;
+                    case "strokeColor":
+                        memberState.strokeColor = DomainTypeAdapterFactory.nextIntArray(in);
+                        break;
+                    case "strokeWidth":
+                        memberState.strokeWidth = DomainTypeAdapterFactory.nextDouble(in);
+                        break;
+                    case "textSize":
+                        memberState.textSize = DomainTypeAdapterFactory.nextDouble(in);
+                        break;
+                    case "shapeType":
+                        memberState.shapeType = shapeTypeAdapter.read(in);
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+            in.endObject();
+            return memberState;
+        }
+
+        @Override
+        public void write(JsonWriter out, MemberState memberState) throws IOException {
+            if (memberState == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            out.name("currentApplianceName").value(memberState.currentApplianceName);
+            out.name("strokeColor");
+            DomainTypeAdapterFactory.writeIntArray(out, memberState.strokeColor);
+            out.name("strokeWidth").value(memberState.strokeWidth);
+            out.name("textSize").value(memberState.textSize);
+            out.name("shapeType");
+            shapeTypeAdapter.write(out, memberState.shapeType);
+            out.endObject();
+        }
+    }
 }
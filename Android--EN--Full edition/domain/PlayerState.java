@@ -1,5 +1,12 @@
 package com.herewhite.sdk.domain;
 
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
 /**
  * The state of the `Player` instance.
  */
@@ -9,4 +16,33 @@ public class PlayerState extends WhiteDisplayerState {
      * The mode for watching the whiteboard playback. See {@link PlayerObserverMode}.
      */
     private PlayerObserverMode observerMode;
+
+    static final class Adapter extends DisplayerStateAdapter<PlayerState> {
+        private final TypeAdapter<PlayerObserverMode> observerModeAdapter;
+
+        Adapter(Gson gson) {
+            super(gson);
+            observerModeAdapter = gson.getAdapter(PlayerObserverMode.class);
+        }
+
+        @Override
+        PlayerState newInstance() {
+            return new PlayerState();
+        }
+
+        @Override
+        boolean readField(PlayerState playerState, String name, JsonReader in) throws IOException {
+            if ("observerMode".equals(name)) {
+                playerState.observerMode = observerModeAdapter.read(in);
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        void writeFields(JsonWriter out, PlayerState playerState) throws IOException {
+            out.name("observerMode");
+            observerModeAdapter.write(out, playerState.observerMode);
+        }
+    }
 }
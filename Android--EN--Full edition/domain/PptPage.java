@@ -1,7 +1,11 @@
 package com.herewhite.sdk.domain;
 
+import com.google.gson.TypeAdapter;
 import com.google.gson.annotations.SerializedName;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
 
+import java.io.IOException;
 
 /**
  * The `PptPage` class, for setting the parameters of an image or dynamic PPT slide.
@@ -139,4 +143,51 @@ public class PptPage extends WhiteObject {
     public void setPreview(String preview) {
         this.preview = preview;
     }
+
+    static final class Adapter extends TypeAdapter<PptPage> {
+        @Override
+        public PptPage read(JsonReader in) throws IOException {
+            if (DomainTypeAdapterFactory.nextIsNull(in)) {
+                return null;
+            }
+            PptPage pptPage = new PptPage(null, null, null, null);
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "src":
+                    case "conversionFileUrl":
+                        pptPage.src = DomainTypeAdapterFactory.nextString(in);
+                        break;
+                    case "width":
+                        pptPage.width = DomainTypeAdapterFactory.nextDouble(in);
+                        break;
+                    case "height":
+                        pptPage.height = DomainTypeAdapterFactory.nextDouble(in);
+                        break;
+                    case "previewURL":
+                    case "preview":
+                        pptPage.preview = DomainTypeAdapterFactory.nextString(in);
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+            in.endObject();
+            return pptPage;
+        }
+
+        @Override
+        public void write(JsonWriter out, PptPage pptPage) throws IOException {
+            if (pptPage == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            out.name("src").value(pptPage.src);
+            out.name("width").value(pptPage.width);
+            out.name("height").value(pptPage.height);
+            out.name("previewURL").value(pptPage.preview);
+            out.endObject();
+        }
+    }
 }
@@ -1,5 +1,12 @@
 package com.herewhite.sdk.domain;
 
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
 /**
  * The `RoomMember` class, for getting the information of the users in interactive mode in the live Interactive Whiteboard room.
  *
@@ -69,4 +76,61 @@ public class RoomMember {
         return information;
     }
 
+    static final class Adapter extends TypeAdapter<RoomMember> {
+        private final TypeAdapter<MemberInformation> informationAdapter;
+        private final TypeAdapter<MemberState> memberStateAdapter;
+        private final TypeAdapter<Object> payloadAdapter;
+
+        Adapter(Gson gson) {
+            informationAdapter = gson.getAdapter(MemberInformation.class);
+            memberStateAdapter = gson.getAdapter(MemberState.class);
+            payloadAdapter = gson.getAdapter(Object.class);
+        }
+
+        @Override
+        public RoomMember read(JsonReader in) throws IOException {
+            if (DomainTypeAdapterFactory.nextIsNull(in)) {
+                return null;
+            }
+            RoomMember member = new RoomMember();
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "memberId":
+                        member.memberId = DomainTypeAdapterFactory.nextLong(in);
+                        break;
+                    case "information":
+                        member.information = informationAdapter.read(in);
+                        break;
+                    case "memberState":
+                        member.memberState = memberStateAdapter.read(in);
+                        break;
+                    case "payload":
+                        member.payload = payloadAdapter.read(in);
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+            in.endObject();
+            return member;
+        }
+
+        @Override
+        public void write(JsonWriter out, RoomMember member) throws IOException {
+            if (member == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            out.name("memberId").value(member.memberId);
+            out.name("information");
+            informationAdapter.write(out, member.information);
+            out.name("memberState");
+            memberStateAdapter.write(out, member.memberState);
+            out.name("payload");
+            payloadAdapter.write(out, member.payload);
+            out.endObject();
+        }
+    }
 }
@@ -1,5 +1,11 @@
 package com.herewhite.sdk.domain;
 
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
 
 // Created by buhe on 2018/8/12.
 
@@ -40,4 +46,46 @@ public class RoomState extends WhiteDisplayerState {
     public Double getZoomScale() {
         return zoomScale;
     }
+
+    static final class Adapter extends DisplayerStateAdapter<RoomState> {
+        private final TypeAdapter<MemberState> memberStateAdapter;
+        private final TypeAdapter<BroadcastState> broadcastStateAdapter;
+
+        Adapter(Gson gson) {
+            super(gson);
+            memberStateAdapter = gson.getAdapter(MemberState.class);
+            broadcastStateAdapter = gson.getAdapter(BroadcastState.class);
+        }
+
+        @Override
+        RoomState newInstance() {
+            return new RoomState();
+        }
+
+        @Override
+        boolean readField(RoomState roomState, String name, JsonReader in) throws IOException {
+            switch (name) {
+                case "memberState":
+                    roomState.memberState = memberStateAdapter.read(in);
+                    return true;
+                case "broadcastState":
+                    roomState.broadcastState = broadcastStateAdapter.read(in);
+                    return true;
+                case "zoomScale":
+                    roomState.zoomScale = DomainTypeAdapterFactory.nextDouble(in);
+                    return true;
+                default:
+                    return false;
+            }
+        }
+
+        @Override
+        void writeFields(JsonWriter out, RoomState roomState) throws IOException {
+            out.name("memberState");
+            memberStateAdapter.write(out, roomState.memberState);
+            out.name("broadcastState");
+            broadcastStateAdapter.write(out, roomState.broadcastState);
+            out.name("zoomScale").value(roomState.zoomScale);
+        }
+    }
 }
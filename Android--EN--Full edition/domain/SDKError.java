@@ -17,7 +17,7 @@ import androidx.annotation.Nullable;
 public class SDKError extends Exception {
 
     private final String jsStack;
-    static Gson gson = new Gson();
+    static Gson gson = WhiteGson.get();
 
     public static @Nullable
     SDKError parseError(JSONObject object) {
@@ -1,5 +1,12 @@
 package com.herewhite.sdk.domain;
 
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
 /**
  * Settings for a scene.
  */
@@ -84,4 +91,52 @@ public class Scene extends WhiteObject {
     public void setPpt(PptPage ppt) {
         this.ppt = ppt;
     }
+
+    static final class Adapter extends TypeAdapter<Scene> {
+        private final TypeAdapter<PptPage> pptAdapter;
+
+        Adapter(Gson gson) {
+            pptAdapter = gson.getAdapter(PptPage.class);
+        }
+
+        @Override
+        public Scene read(JsonReader in) throws IOException {
+            if (DomainTypeAdapterFactory.nextIsNull(in)) {
+                return null;
+            }
+            Scene scene = new Scene();
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "name":
+                        scene.name = DomainTypeAdapterFactory.nextString(in);
+                        break;
+                    case "componentsCount":
+                        scene.componentsCount = DomainTypeAdapterFactory.nextLong(in);
+                        break;
+                    case "ppt":
+                        scene.ppt = pptAdapter.read(in);
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+            in.endObject();
+            return scene;
+        }
+
+        @Override
+        public void write(JsonWriter out, Scene scene) throws IOException {
+            if (scene == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            out.name("name").value(scene.name);
+            out.name("componentsCount").value(scene.componentsCount);
+            out.name("ppt");
+            pptAdapter.write(out, scene.ppt);
+            out.endObject();
+        }
+    }
 }
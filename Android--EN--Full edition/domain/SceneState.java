@@ -1,5 +1,12 @@
 package com.herewhite.sdk.domain;
 
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
 /**
  * The scene state.
  */
@@ -36,4 +43,55 @@ public class SceneState extends WhiteObject {
         return index;
     }
 
+    static final class Adapter extends TypeAdapter<SceneState> {
+        private final TypeAdapter<Scene[]> scenesAdapter;
+
+        Adapter(Gson gson) {
+            scenesAdapter = gson.getAdapter(Scene[].class);
+        }
+
+        @Override
+        public SceneState read(JsonReader in) throws IOException {
+            if (DomainTypeAdapterFactory.nextIsNull(in)) {
+                return null;
+            }
+            SceneState sceneState = new SceneState();
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "scenes":
+                        sceneState.scenes = scenesAdapter.read(in);
+                        break;
+                    case "scenePath":
+                        sceneState.scenePath = DomainTypeAdapterFactory.nextString(in);
+                        break;
+                    case "index": {
+                        Integer index = DomainTypeAdapterFactory.nextInteger(in);
+                        if (index != null) {
+                            sceneState.index = index;
+                        }
+                        break;
+                    }
+                    default:
+                        in.skipValue();
+                }
+            }
+            in.endObject();
+            return sceneState;
+        }
+
+        @Override
+        public void write(JsonWriter out, SceneState sceneState) throws IOException {
+            if (sceneState == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            out.name("scenes");
+            scenesAdapter.write(out, sceneState.scenes);
+            out.name("scenePath").value(sceneState.scenePath);
+            out.name("index").value(sceneState.index);
+            out.endObject();
+        }
+    }
 }
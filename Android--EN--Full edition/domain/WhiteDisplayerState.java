@@ -3,7 +3,14 @@ package com.herewhite.sdk.domain;
 import android.util.Log;
 
 import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonIOException;
 import com.google.gson.JsonSyntaxException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
 
 /**
  * The `WhiteDisplayerState` class, which is inherited by the `Room` and `Player` instances.
@@ -12,8 +19,9 @@ import com.google.gson.JsonSyntaxException;
  */
 public class WhiteDisplayerState extends WhiteObject {
 
-    static Gson gson = new Gson();
+    static Gson gson = WhiteGson.get();
     static Class<?> customClass = GlobalState.class;
+    static TypeAdapter<? extends GlobalState> customAdapter;
 
     /**
      * Sets the customized `GlobalState` class.
@@ -26,24 +34,67 @@ public class WhiteDisplayerState extends WhiteObject {
      * @param classOfT The customized `GlobalState` class.
      */
     public static <T extends GlobalState> void setCustomGlobalStateClass(Class<T> classOfT) {
+        setCustomGlobalStateClass(classOfT, gson.getAdapter(classOfT));
+    }
+
+    /**
+     * Sets the customized `GlobalState` class and the `TypeAdapter` that decodes it.
+     *
+     * By default, the SDK decodes the customized `GlobalState` class through reflection.
+     * If you pass in a `TypeAdapter` written for the class, the SDK uses it instead, and decodes the global state only once each time it changes.
+     *
+     * @param <T>         Type constraint. The customized `GlobalState` must extend the {@link com.herewhite.sdk.domain.GlobalState GlobalState} class.
+     * @param classOfT    The customized `GlobalState` class.
+     * @param typeAdapter The Gson `TypeAdapter` that reads the customized `GlobalState` class.
+     */
+    public static synchronized <T extends GlobalState> void setCustomGlobalStateClass(Class<T> classOfT, TypeAdapter<T> typeAdapter) {
+        customAdapter = typeAdapter;
         customClass = classOfT;
     }
 
+    /// @cond test
+    /**
+     * Hidden in documentation
+     */
+    public static Class<?> getCustomGlobalStateClass() {
+        return customClass;
+    }
+
+    /**
+     * Hidden in documentation
+     */
+    @SuppressWarnings("unchecked")
+    public static synchronized TypeAdapter<? extends GlobalState> getCustomGlobalStateAdapter() {
+        if (customAdapter == null) {
+            customAdapter = gson.getAdapter((Class<? extends GlobalState>) customClass);
+        }
+        return customAdapter;
+    }
+    /// @endcond
+
     /**
      * Gets the global state of the room.
      *
      * @return The global state of the room.
      */
     public GlobalState getGlobalState() {
-        String str = gson.toJson(globalState);
+        TypeAdapter<? extends GlobalState> adapter = getCustomGlobalStateAdapter();
+        if (decodedGlobalState != null && decodedAdapter == adapter) {
+            return decodedGlobalState;
+        }
+        if (globalState == null) {
+            return null;
+        }
         Object customInstance = null;
         try {
-            customInstance = gson.fromJson(str, customClass);
-        } catch (JsonSyntaxException e) {
+            customInstance = adapter.fromJsonTree(globalState);
+        } catch (JsonSyntaxException | JsonIOException | IllegalStateException e) {
             Log.e("getGlobalState error", e.getMessage());
         }
         if (customClass.isInstance(customInstance)) {
-            return ((GlobalState) customInstance);
+            decodedGlobalState = (GlobalState) customInstance;
+            decodedAdapter = adapter;
+            return decodedGlobalState;
         } else {
             return null;
         }
@@ -70,7 +121,9 @@ public class WhiteDisplayerState extends WhiteObject {
         return sceneState;
     }
 
-    private Object globalState;
+    private JsonElement globalState;
+    private transient GlobalState decodedGlobalState;
+    private transient TypeAdapter<?> decodedAdapter;
     private RoomMember[] roomMembers;
     private SceneState sceneState;
 
@@ -85,4 +138,80 @@ public class WhiteDisplayerState extends WhiteObject {
 
     private CameraState cameraState;
 
+    /**
+     * Reads and writes the fields declared here; subclasses add their own fields.
+     */
+    abstract static class DisplayerStateAdapter<T extends WhiteDisplayerState> extends TypeAdapter<T> {
+        private final TypeAdapter<JsonElement> globalStateAdapter;
+        private final TypeAdapter<RoomMember[]> roomMembersAdapter;
+        private final TypeAdapter<SceneState> sceneStateAdapter;
+        private final TypeAdapter<CameraState> cameraStateAdapter;
+
+        DisplayerStateAdapter(Gson gson) {
+            globalStateAdapter = gson.getAdapter(JsonElement.class);
+            roomMembersAdapter = gson.getAdapter(RoomMember[].class);
+            sceneStateAdapter = gson.getAdapter(SceneState.class);
+            cameraStateAdapter = gson.getAdapter(CameraState.class);
+        }
+
+        abstract T newInstance();
+
+        abstract boolean readField(T state, String name, JsonReader in) throws IOException;
+
+        abstract void writeFields(JsonWriter out, T state) throws IOException;
+
+        @Override
+        public T read(JsonReader in) throws IOException {
+            if (DomainTypeAdapterFactory.nextIsNull(in)) {
+                return null;
+            }
+            T state = newInstance();
+            WhiteDisplayerState displayerState = state;
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                if (readField(state, name, in)) {
+                    continue;
+                }
+                switch (name) {
+                    case "globalState":
+                        displayerState.globalState = globalStateAdapter.read(in);
+                        break;
+                    case "roomMembers":
+                        displayerState.roomMembers = roomMembersAdapter.read(in);
+                        break;
+                    case "sceneState":
+                        displayerState.sceneState = sceneStateAdapter.read(in);
+                        break;
+                    case "cameraState":
+                        displayerState.cameraState = cameraStateAdapter.read(in);
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+            in.endObject();
+            return state;
+        }
+
+        @Override
+        public void write(JsonWriter out, T state) throws IOException {
+            if (state == null) {
+                out.nullValue();
+                return;
+            }
+            WhiteDisplayerState displayerState = state;
+            out.beginObject();
+            writeFields(out, state);
+            out.name("globalState");
+            globalStateAdapter.write(out, displayerState.globalState);
+            out.name("roomMembers");
+            roomMembersAdapter.write(out, displayerState.roomMembers);
+            out.name("sceneState");
+            sceneStateAdapter.write(out, displayerState.sceneState);
+            out.name("cameraState");
+            cameraStateAdapter.write(out, displayerState.cameraState);
+            out.endObject();
+        }
+    }
 }
@@ -0,0 +1,25 @@
+package com.herewhite.sdk.domain;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+/**
+ * Hidden in documentation
+ *
+ * Holds the single `Gson` instance used by the SDK.
+ * The state and event classes of this package are read and written by the streaming adapters of {@link DomainTypeAdapterFactory}
+ * instead of reflection, and `Gson` caches adapters per instance, so everything goes through this one.
+ */
+public final class WhiteGson {
+
+    private static final Gson gson = new GsonBuilder()
+            .registerTypeAdapterFactory(new DomainTypeAdapterFactory())
+            .create();
+
+    private WhiteGson() {
+    }
+
+    public static Gson get() {
+        return gson;
+    }
+}
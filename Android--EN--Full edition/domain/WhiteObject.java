@@ -6,7 +6,7 @@ import org.json.JSONObject;
 
 public class WhiteObject {
 
-    static Gson gson = new Gson();
+    static Gson gson = WhiteGson.get();
 
     @Override
     public String toString() {